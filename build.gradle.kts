@@ -11,6 +11,13 @@ repositories {
     mavenCentral()
 }
 
+// The CPU and memory probes run on virtual threads, which need Java 21
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
 // Define versions for our libraries in one place
 val oshiVersion = "6.6.1"
 val javafxVersion = "21.0.2"
@@ -0,0 +1,90 @@
+package com.yourorg.telemetryagent.app;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each startup phase takes and when key milestones are reached,
+ * measured from JVM start. Safe to use from the FX thread and background threads.
+ */
+public class StartupReport {
+
+    private final long originNanos;
+    private final long jvmUptimeAtOriginMillis;
+    private final List<String> lines = new ArrayList<>();
+    private final List<String> milestoneNames = new ArrayList<>();
+    private final List<Long> milestoneMillis = new ArrayList<>();
+
+    public StartupReport() {
+        this.originNanos = System.nanoTime();
+        // Time spent before this object existed (JVM boot, class loading, JavaFX launcher)
+        this.jvmUptimeAtOriginMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /**
+     * Runs one startup phase and records its duration.
+     */
+    public <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(phase, start);
+        }
+    }
+
+    /**
+     * Runs one startup phase that produces no value and records its duration.
+     */
+    public void time(String phase, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(phase, start);
+        }
+    }
+
+    /**
+     * Records that a milestone was reached, e.g. "window shown" or "first metric painted".
+     */
+    public synchronized void milestone(String name) {
+        long atMillis = sinceJvmStartMillis();
+        milestoneNames.add(name);
+        milestoneMillis.add(atMillis);
+        lines.add(String.format("  * %-28s at %6d ms", name, atMillis));
+    }
+
+    /**
+     * @return Milliseconds from JVM start until the milestone, or -1 if it has not been reached.
+     */
+    public synchronized long getMilestoneMillis(String name) {
+        int index = milestoneNames.indexOf(name);
+        return index < 0 ? -1 : milestoneMillis.get(index);
+    }
+
+    /**
+     * @return A printable, chronological report of every phase and milestone so far.
+     */
+    public synchronized String format() {
+        StringBuilder report = new StringBuilder();
+        report.append("Startup Report:\n");
+        report.append("-------------------\n");
+        report.append(String.format("  %-30s %6d ms%n", "JVM start to launch", jvmUptimeAtOriginMillis));
+        for (String line : lines) {
+            report.append(line).append("\n");
+        }
+        return report.toString();
+    }
+
+    private synchronized void record(String phase, long startNanos) {
+        long tookMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        lines.add(String.format("  %-30s %6d ms  [%s]", phase, tookMillis, Thread.currentThread().getName()));
+    }
+
+    private long sinceJvmStartMillis() {
+        return jvmUptimeAtOriginMillis + (System.nanoTime() - originNanos) / 1_000_000;
+    }
+}
@@ -2,9 +2,14 @@ package com.yourorg.telemetryagent.app;
 
 import com.yourorg.telemetryagent.core.TelemetryService;
 import com.yourorg.telemetryagent.core.GeminiClient;
-import com.yourorg.telemetryagent.domain.ProcessInfo;
+import com.yourorg.telemetryagent.core.LocalExplainer;
+import com.yourorg.telemetryagent.core.SamplingMode;
+import com.yourorg.telemetryagent.core.analytics.MetricWindow;
+import com.yourorg.telemetryagent.core.explain.Explanation;
 import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import com.yourorg.telemetryagent.ui.components.ProcessExplorer;
 import com.yourorg.telemetryagent.ui.components.StatusCard;
+import com.yourorg.telemetryagent.util.Units;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -14,7 +19,6 @@ import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.TilePane;
@@ -22,8 +26,16 @@ import javafx.scene.layout.VBox;
 import javafx.scene.web.WebView;
 import javafx.stage.Stage;
 
+import java.util.Locale;
+import java.util.concurrent.Flow;
+
 public class TelemetryApplication extends Application {
 
+    // Created as early as possible so the report covers JavaFX startup as well
+    private static final StartupReport startupReport = new StartupReport();
+    private static final String FIRST_METRIC_MILESTONE = "first metric painted";
+    private static final String SAMPLING_MODE_ENV = "TELEMETRY_SAMPLING_MODE";
+
     private TelemetryService telemetryService;
     private StatusCard cpuCard;
     private StatusCard memoryCard;
@@ -37,15 +49,74 @@ public class TelemetryApplication extends Application {
     private static final int MAX_DATA_POINTS = 30; // 30 points * 2s interval = 60s window
     private int xSeriesDataCounter = 0;
 
-    private TableView<ProcessInfo> processTable;
+    private ProcessExplorer processExplorer;
 
     private GeminiClient geminiClient;
     private Button explainButton;
+    private Button deeperExplainButton;
+    private final LocalExplainer localExplainer = new LocalExplainer();
+    private Explanation lastLocalExplanation;
+    private final MetricWindow recentMetrics = new MetricWindow(MAX_DATA_POINTS);
+    private VBox aiPanelLayout;
     private WebView aiInsightView;
     private SystemMetricsSnapshot lastSnapshot;
+    private Scene scene;
+    private boolean firstMetricPainted = false;
+
+    // Guards telemetryService and stopping, so a window closed during startup never leaves polling running
+    private final Object backendLock = new Object();
+    private boolean stopping = false;
 
     @Override
     public void start(Stage primaryStage) {
+        // Build and show the window first; everything slow happens afterwards.
+        startupReport.time("build shell", () -> buildShell(primaryStage));
+        startupReport.time("show window", primaryStage::show);
+        startupReport.milestone("window shown");
+
+        // --- 10. Start backend services off the FX thread ---
+        // OSHI (and the first sample) can take hundreds of milliseconds, so it must not delay the window.
+        Thread backendStarter = new Thread(this::startBackend, "telemetry-startup");
+        backendStarter.setDaemon(true);
+        backendStarter.start();
+    }
+
+    private void startBackend() {
+        try {
+            TelemetryService service = startupReport.time("init OSHI", TelemetryService::new);
+            // FULL keeps the process views current; LOW_ALLOCATION is opt-in because it refreshes them only every few ticks
+            service.setSamplingMode(configuredSamplingMode());
+            synchronized (backendLock) {
+                if (stopping) {
+                    // The window was closed while OSHI was still initializing
+                    return;
+                }
+                this.telemetryService = service;
+                startupReport.time("start polling", () -> service.startPolling(new FxSnapshotSubscriber()));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Failed to start telemetry service: " + e.getMessage());
+            Platform.runLater(() -> cpuCard.setValue("Unavailable"));
+        }
+    }
+
+    /**
+     * Reads the sampling mode from the TELEMETRY_SAMPLING_MODE environment variable, defaulting to FULL.
+     */
+    private static SamplingMode configuredSamplingMode() {
+        String mode = System.getenv(SAMPLING_MODE_ENV);
+        if (mode == null || mode.isBlank()) {
+            return SamplingMode.FULL;
+        }
+        try {
+            return SamplingMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown " + SAMPLING_MODE_ENV + " '" + mode + "'; using FULL");
+            return SamplingMode.FULL;
+        }
+    }
+
+    private void buildShell(Stage primaryStage) {
         // --- 1. Create the Card Components ---
         cpuCard = new StatusCard("CPU Load");
         memoryCard = new StatusCard("Memory Usage");
@@ -92,41 +163,11 @@ public class TelemetryApplication extends Application {
         HBox.setHgrow(memoryChart, Priority.ALWAYS);
         chartLayout.getChildren().addAll(cpuChart, memoryChart);
 
-        // --- 6. Create the Process Table ---
-        processTable = new TableView<>();
-        processTable.setPlaceholder(new Label("Loading process data..."));
-        TableColumn<ProcessInfo, Integer> pidCol = new TableColumn<>("PID");
-        pidCol.setCellValueFactory(new PropertyValueFactory<>("pid"));
-        TableColumn<ProcessInfo, String> nameCol = new TableColumn<>("Name");
-        nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
-        nameCol.setPrefWidth(250);
-        TableColumn<ProcessInfo, Double> cpuCol = new TableColumn<>("CPU %");
-        cpuCol.setCellValueFactory(new PropertyValueFactory<>("cpuPercent"));
-        cpuCol.setCellFactory(column -> new TableCell<>() {
-            @Override
-            protected void updateItem(Double item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
-                } else {
-                    setText(String.format("%.1f%%", item));
-                }
-            }
-        });
-        TableColumn<ProcessInfo, String> memCol = new TableColumn<>("Memory");
-        memCol.setCellValueFactory(new PropertyValueFactory<>("memoryUsage"));
-        processTable.getColumns().addAll(pidCol, nameCol, cpuCol, memCol);
-
-        // --- 7. Create the AI Insight Panel (WebView) ---
-        aiInsightView = new WebView();
-        aiInsightView.setPrefHeight(500);
-        aiInsightView.setVisible(false);
-
-        // Add error handling for WebView
-        aiInsightView.getEngine().setOnError(event -> {
-            System.err.println("WebView error: " + event.getMessage());
-        });
+        // --- 6. Create the Process Explorer ---
+        processExplorer = new ProcessExplorer();
 
+        // --- 7. Create the AI Insight Panel ---
+        // The WebView (and WebKit behind it) is only created the first time it is needed.
         explainButton = new Button("Explain Current State");
         explainButton.setStyle(
                 "-fx-background-color: #0078D7;" +
@@ -154,47 +195,86 @@ public class TelemetryApplication extends Application {
         ));
         explainButton.setOnAction(e -> onExplainButtonClicked());
 
-        VBox aiPanelLayout = new VBox(12, explainButton, aiInsightView);
+        // Only offered once a local explanation is on screen
+        deeperExplainButton = new Button("Ask Gemini for a Deeper Explanation");
+        deeperExplainButton.setStyle(
+                "-fx-background-color: transparent;" +
+                        "-fx-text-fill: #0078D7;" +
+                        "-fx-border-color: #0078D7;" +
+                        "-fx-border-radius: 20;" +
+                        "-fx-padding: 6 14 6 14;" +
+                        "-fx-cursor: hand;"
+        );
+        deeperExplainButton.setVisible(false);
+        deeperExplainButton.setManaged(false);
+        deeperExplainButton.setOnAction(e -> onDeeperExplainButtonClicked());
+
+        HBox explainButtons = new HBox(10, explainButton, deeperExplainButton);
+        explainButtons.setAlignment(Pos.CENTER);
+
+        aiPanelLayout = new VBox(12, explainButtons);
         aiPanelLayout.setAlignment(Pos.TOP_CENTER);
         aiPanelLayout.setPadding(new Insets(10));
-        VBox.setVgrow(aiInsightView, Priority.ALWAYS);
 
         // --- 8. Create the Main Application Layout ---
         VBox rootLayout = new VBox();
         rootLayout.setSpacing(20);
         rootLayout.setPadding(new Insets(15));
 
-        VBox.setVgrow(processTable, Priority.ALWAYS);
+        VBox.setVgrow(processExplorer, Priority.ALWAYS);
 
-        rootLayout.getChildren().addAll(cardLayout, chartLayout, processTable, aiPanelLayout);
+        rootLayout.getChildren().addAll(cardLayout, chartLayout, processExplorer, aiPanelLayout);
 
         // --- 9. Create the Scene and configure the Stage ---
-        Scene scene = new Scene(rootLayout, 900, 1000);
+        scene = new Scene(rootLayout, 900, 1000);
         primaryStage.setTitle("Windows System Telemetry Agent");
         primaryStage.setScene(scene);
+    }
 
-        // --- 10. Start backend services ---
-        this.geminiClient = new GeminiClient();
-        this.telemetryService = new TelemetryService();
-        telemetryService.startPolling(snapshot -> Platform.runLater(() -> updateUI(snapshot)));
+    /**
+     * Creates the AI insight WebView on first use. Loading WebKit is expensive, so it is kept off the startup path.
+     */
+    private WebView getAiInsightView() {
+        if (aiInsightView == null) {
+            aiInsightView = startupReport.time("create WebView", WebView::new);
+            aiInsightView.setPrefHeight(500);
+
+            // Add error handling for WebView
+            aiInsightView.getEngine().setOnError(event -> {
+                System.err.println("WebView error: " + event.getMessage());
+            });
+
+            VBox.setVgrow(aiInsightView, Priority.ALWAYS);
+            aiPanelLayout.getChildren().add(aiInsightView);
+        }
+        return aiInsightView;
+    }
 
-        primaryStage.show();
+    /**
+     * Creates the Gemini client (and its HTTP/2 client) on first use.
+     */
+    private GeminiClient getGeminiClient() {
+        if (geminiClient == null) {
+            geminiClient = startupReport.time("create AI client", GeminiClient::new);
+        }
+        return geminiClient;
     }
 
     private void updateUI(SystemMetricsSnapshot snapshot) {
         this.lastSnapshot = snapshot;
+        recentMetrics.append(snapshot);
 
         // --- Update Cards ---
         double cpuLoad = snapshot.getCpuMetrics().getCpuLoad();
-        cpuCard.setValue(String.format("%.1f%%", cpuLoad));
+        cpuCard.setValue(withStaleMarker(Units.formatPercent(cpuLoad), snapshot, TelemetryService.PROBE_CPU));
 
         long memUsed = snapshot.getMemoryMetrics().getUsedBytes();
         long memTotal = snapshot.getMemoryMetrics().getTotalBytes();
-        memoryCard.setValue(String.format("%s / %s", formatBytes(memUsed), formatBytes(memTotal)));
+        memoryCard.setValue(withStaleMarker(Units.formatBytesOfTotal(memUsed, memTotal), snapshot, TelemetryService.PROBE_MEMORY));
 
         long diskUsed = snapshot.getDiskMetrics().getUsedBytes();
         long diskTotal = snapshot.getDiskMetrics().getTotalBytes();
-        diskCard.setValue(String.format("%s / %s", formatBytes(diskUsed), formatBytes(diskTotal)));
+        diskCard.setValue(withStaleMarker(Units.formatBytesOfTotal(diskUsed, diskTotal), snapshot, TelemetryService.PROBE_DISK));
 
         // --- Update Charts ---
         cpuDataSeries.getData().add(new XYChart.Data<>(xSeriesDataCounter, cpuLoad));
@@ -202,30 +282,115 @@ public class TelemetryApplication extends Application {
 //            cpuDataSeries.getData().remove(0);
 //        }
 
-        double memPercent = (double) memUsed / memTotal * 100.0;
+        double memPercent = memTotal == 0 ? 0 : (double) memUsed / memTotal * 100.0;
         memoryDataSeries.getData().add(new XYChart.Data<>(xSeriesDataCounter, memPercent));
 //        if (memoryDataSeries.getData().size() > MAX_DATA_POINTS) {
 //            memoryDataSeries.getData().remove(0);
 //        }
 
-        // --- Update Process Table ---
-        processTable.getItems().setAll(snapshot.getTopProcesses());
+        // --- Update Process Explorer ---
+        processExplorer.update(snapshot.getProcesses());
 
         xSeriesDataCounter++;
+
+        if (!firstMetricPainted) {
+            firstMetricPainted = true;
+            recordFirstPaint();
+        }
+    }
+
+    /**
+     * Hands snapshots to the FX thread one at a time: the next snapshot is only requested once
+     * updateUI has run, so a busy FX thread never builds up a queue of stale updates.
+     */
+    private final class FxSnapshotSubscriber implements Flow.Subscriber<SystemMetricsSnapshot> {
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(SystemMetricsSnapshot snapshot) {
+            Platform.runLater(() -> {
+                try {
+                    updateUI(snapshot);
+                } finally {
+                    subscription.request(1);
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            System.err.println("Telemetry updates failed: " + throwable.getMessage());
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    /**
+     * Flags values that were carried over because their probe missed its deadline.
+     */
+    private String withStaleMarker(String value, SystemMetricsSnapshot snapshot, String probeName) {
+        return snapshot.isStale(probeName) ? value + " (stale)" : value;
+    }
+
+    /**
+     * Marks the "first metric painted" milestone once the next pulse has laid out the new values,
+     * then prints the startup report.
+     */
+    private void recordFirstPaint() {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            startupReport.milestone(FIRST_METRIC_MILESTONE);
+            System.out.println(startupReport.format());
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
     }
 
     private void onExplainButtonClicked() {
+        WebView aiInsightView = getAiInsightView();
         if (lastSnapshot == null) {
             aiInsightView.getEngine().loadContent("<p><b>[!]</b> Not enough data collected yet. Please wait a moment.</p>");
             aiInsightView.setVisible(true);
             return;
         }
 
+        // The local engine answers instantly and works offline; Gemini is only the second opinion.
+        lastLocalExplanation = localExplainer.explain(lastSnapshot, recentMetrics);
+        aiInsightView.setVisible(true);
+        aiInsightView.getEngine().loadContent(formatLocalExplanation(lastLocalExplanation, null));
+        deeperExplainButton.setVisible(true);
+        deeperExplainButton.setManaged(true);
+
+        if (lastLocalExplanation.getConfidence() < LocalExplainer.LOW_CONFIDENCE_THRESHOLD) {
+            onDeeperExplainButtonClicked();
+        }
+    }
+
+    private void onDeeperExplainButtonClicked() {
+        WebView aiInsightView = getAiInsightView();
+        SystemMetricsSnapshot snapshot = lastSnapshot;
+        Explanation localExplanation = lastLocalExplanation;
+
         explainButton.setDisable(true);
+        deeperExplainButton.setDisable(true);
         aiInsightView.setVisible(true);
-        aiInsightView.getEngine().loadContent("<p><i>[Analyzing system state with Gemini... Please wait.]</i></p>");
+        if (localExplanation != null) {
+            // Keep the local answer on screen while the network round trip is in flight
+            aiInsightView.getEngine().loadContent(formatLocalExplanation(localExplanation,
+                    "Analyzing system state with Gemini... Please wait."));
+        } else {
+            aiInsightView.getEngine().loadContent("<p><i>[Analyzing system state with Gemini... Please wait.]</i></p>");
+        }
 
-        geminiClient.explainSystemState(lastSnapshot)
+        getGeminiClient().explainSystemState(snapshot)
                 .whenComplete((response, error) -> {
                     Platform.runLater(() -> {
                         if (error != null) {
@@ -237,14 +402,29 @@ public class TelemetryApplication extends Application {
                             aiInsightView.getEngine().loadContent(formatAIResponse(response));
                         }
                         explainButton.setDisable(false);
+                        deeperExplainButton.setDisable(false);
                     });
                 });
     }
 
+    private String formatLocalExplanation(Explanation explanation, String status) {
+        String markdown = explanation.getMarkdown();
+        if (status != null) {
+            markdown = markdown + "\n*" + status + "*\n";
+        }
+        String footer = String.format("[Local analysis in %.2f ms, confidence %.0f%%]",
+                explanation.getElapsedNanos() / 1_000_000.0, explanation.getConfidence() * 100);
+        return formatInsight(markdown, "[System Insight]", footer);
+    }
+
     private String formatAIResponse(String response) {
+        return formatInsight(response, "[AI System Insight]", "[Analysis provided by Gemini]");
+    }
+
+    private String formatInsight(String response, String heading, String footer) {
         if (response == null || response.trim().isEmpty()) {
             return "<html><body style='font-family: Segoe UI; font-size:14px; padding:10px;'>" +
-                    "<h2>[AI System Insight]</h2>" +
+                    "<h2>" + heading + "</h2>" +
                     "<p>No response received.</p>" +
                     "</body></html>";
         }
@@ -279,10 +459,10 @@ public class TelemetryApplication extends Application {
         html = html.replaceAll("(</?(?:h[1-6]|ul|li|p)>)\\s*<br>", "$1");
 
         return "<html><body style='font-family: Segoe UI; font-size:14px; padding:10px; line-height:1.4;'>" +
-                "<h2 style='color:#0078D7; border-bottom:2px solid #0078D7; padding-bottom:5px;'>[AI System Insight]</h2>" +
+                "<h2 style='color:#0078D7; border-bottom:2px solid #0078D7; padding-bottom:5px;'>" + heading + "</h2>" +
                 "<div style='margin-top:15px;'>" + html + "</div>" +
                 "<hr style='margin:20px 0; border:1px solid #ddd;'>" +
-                "<p style='color:#666; font-style:italic;'>[Analysis provided by Gemini]</p>" +
+                "<p style='color:#666; font-style:italic;'>" + footer + "</p>" +
                 "</body></html>";
     }
 
@@ -331,17 +511,13 @@ public class TelemetryApplication extends Application {
                 .replaceAll("<p>\\s*</p>", "");
     }
 
-    private String formatBytes(long bytes) {
-        if (bytes < 1024) return bytes + " B";
-        int exp = (int) (Math.log(bytes) / Math.log(1024));
-        String pre = "KMGTPE".charAt(exp - 1) + "B";
-        return String.format("%.1f %s", bytes / Math.pow(1024, exp), pre);
-    }
-
     @Override
     public void stop() {
-        if (telemetryService != null) {
-            telemetryService.stopPolling();
+        synchronized (backendLock) {
+            stopping = true;
+            if (telemetryService != null) {
+                telemetryService.stopPolling();
+            }
         }
     }
 
@@ -0,0 +1,103 @@
+package com.yourorg.telemetryagent.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how many bytes the JVM allocates during one polling tick and compares it against a
+ * budget, so allocation regressions in the sampling loop are visible.
+ * <p>
+ * The count is process-wide, because the probes run on threads of their own, some of them virtual,
+ * and the JVM does not report per-thread allocations for virtual threads. Anything else allocating
+ * during the tick (the UI, a probe call still finishing from an earlier tick) is included, so in the
+ * running application each figure is an upper bound. Tests that sample without a UI get an exact count.
+ */
+public class AllocationMeter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AllocationMeter.class);
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final long budgetBytes;
+    private final AtomicLong overBudgetTicks = new AtomicLong();
+    private volatile long lastTickBytes = -1;
+    private volatile boolean lastTickBudgeted;
+    private volatile long maxTickBytes = 0;
+
+    /**
+     * @param budgetBytes The most a budgeted tick may allocate before it is reported.
+     */
+    public AllocationMeter(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        com.sun.management.ThreadMXBean bean = null;
+        java.lang.management.ThreadMXBean platformBean = ManagementFactory.getThreadMXBean();
+        if (platformBean instanceof com.sun.management.ThreadMXBean) {
+            bean = (com.sun.management.ThreadMXBean) platformBean;
+            if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+        }
+        this.threadBean = bean;
+    }
+
+    /**
+     * @return Whether this JVM can report per-thread allocations at all.
+     */
+    public boolean isSupported() {
+        return threadBean != null && threadBean.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Starts measuring a tick.
+     * @return An opaque start value to pass to {@link #end}.
+     */
+    public long begin() {
+        return totalAllocatedBytes();
+    }
+
+    /**
+     * @return Total bytes allocated by all threads since the JVM started, or -1 if unsupported.
+     */
+    public long totalAllocatedBytes() {
+        return isSupported() ? threadBean.getTotalThreadAllocatedBytes() : -1;
+    }
+
+    /**
+     * Finishes measuring a tick started with {@link #begin()}.
+     * @param start The value returned by {@link #begin()}.
+     * @param enforceBudget Whether this tick counts against the budget.
+     * @return The bytes allocated during the tick, or -1 if unsupported.
+     */
+    public long end(long start, boolean enforceBudget) {
+        if (start < 0) {
+            return -1;
+        }
+        long allocated = totalAllocatedBytes() - start;
+        record(allocated, enforceBudget);
+        return allocated;
+    }
+
+    private void record(long allocated, boolean enforceBudget) {
+        lastTickBytes = allocated;
+        lastTickBudgeted = enforceBudget;
+        if (allocated > maxTickBytes) {
+            maxTickBytes = allocated;
+        }
+        if (enforceBudget && allocated > budgetBytes) {
+            long count = overBudgetTicks.incrementAndGet();
+            // Log the first overrun and then only occasionally, to avoid adding garbage of our own
+            if (count == 1 || count % 100 == 0) {
+                logger.warn("Sampling tick allocated {} bytes, over the {} byte budget ({} ticks over so far)",
+                        allocated, budgetBytes, count);
+            }
+        }
+    }
+
+    public long getBudgetBytes() { return budgetBytes; }
+    public long getLastTickBytes() { return lastTickBytes; }
+    public boolean isLastTickBudgeted() { return lastTickBudgeted; }
+    public long getMaxTickBytes() { return maxTickBytes; }
+    public long getOverBudgetTicks() { return overBudgetTicks.get(); }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.yourorg.telemetryagent.core.ai.APIKey;
 import com.yourorg.telemetryagent.core.ai.GeminiRequest;
 import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import com.yourorg.telemetryagent.util.Units;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -76,7 +77,7 @@ public class GeminiClient {
         long memTotal = snapshot.getMemoryMetrics().getTotalBytes();
         long diskUsed = snapshot.getDiskMetrics().getUsedBytes();
         long diskTotal = snapshot.getDiskMetrics().getTotalBytes();
-        int processCount = snapshot.getTopProcesses().size();
+        int processCount = snapshot.getProcesses().size();
 
         // Validate inputs to prevent formatting errors
         if (memTotal == 0 || diskTotal == 0) {
@@ -99,8 +100,8 @@ public class GeminiClient {
                         "**Suggested Actions:**\\n- Action 1\\n- Action 2\\n" +
                         "Keep the response concise (150-300 words) and prioritize actionable insights.",
                 cpuLoad,
-                formatBytes(memUsed), formatBytes(memTotal), (double) memUsed / memTotal * 100.0,
-                formatBytes(diskUsed), formatBytes(diskTotal), (double) diskUsed / diskTotal * 100.0,
+                Units.formatBytes(memUsed), Units.formatBytes(memTotal), (double) memUsed / memTotal * 100.0,
+                Units.formatBytes(diskUsed), Units.formatBytes(diskTotal), (double) diskUsed / diskTotal * 100.0,
                 topProcess,
                 processCount
         );
@@ -127,11 +128,4 @@ public class GeminiClient {
             return "Error parsing AI response: " + e.getMessage();
         }
     }
-
-    private String formatBytes(long bytes) {
-        if (bytes < 1024) return bytes + " B";
-        int exp = (int) (Math.log(bytes) / Math.log(1024));
-        char pre = "KMGTPE".charAt(exp - 1);
-        return String.format("%.1f %sB", bytes / Math.pow(1024, exp), pre);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.yourorg.telemetryagent.core;
+
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+
+/**
+ * An immutable pair of the newest snapshot and the one before it.
+ * The sampler publishes a new pair atomically, so readers always see two snapshots that belong together.
+ */
+public class LatestSnapshots {
+
+    static final LatestSnapshots EMPTY = new LatestSnapshots(null, null);
+
+    private final SystemMetricsSnapshot latest;
+    private final SystemMetricsSnapshot previous;
+
+    LatestSnapshots(SystemMetricsSnapshot latest, SystemMetricsSnapshot previous) {
+        this.latest = latest;
+        this.previous = previous;
+    }
+
+    /**
+     * @return The newest snapshot, or null before the first sample.
+     */
+    public SystemMetricsSnapshot getLatest() { return latest; }
+
+    /**
+     * @return The snapshot before {@link #getLatest()}, or null before the second sample.
+     */
+    public SystemMetricsSnapshot getPrevious() { return previous; }
+
+    /**
+     * Returns a new pair with {@code next} as the latest snapshot and the current latest as previous.
+     */
+    LatestSnapshots advance(SystemMetricsSnapshot next) {
+        return new LatestSnapshots(next, latest);
+    }
+}
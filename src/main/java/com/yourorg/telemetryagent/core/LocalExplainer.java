@@ -0,0 +1,256 @@
+package com.yourorg.telemetryagent.core;
+
+import com.yourorg.telemetryagent.core.analytics.ColumnOps;
+import com.yourorg.telemetryagent.core.analytics.MetricWindow;
+import com.yourorg.telemetryagent.core.explain.DefaultKnowledgeBase;
+import com.yourorg.telemetryagent.core.explain.Explanation;
+import com.yourorg.telemetryagent.core.explain.KnowledgeBase;
+import com.yourorg.telemetryagent.core.explain.ProcessPattern;
+import com.yourorg.telemetryagent.core.explain.ThresholdRule;
+import com.yourorg.telemetryagent.domain.ProcessInfo;
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import com.yourorg.telemetryagent.util.Units;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An offline, rule-based counterpart to {@link GeminiClient}.
+ * Produces the same markdown report structure (Title / Likely Causes / Suggested Actions)
+ * from the snapshot, recent history and a {@link KnowledgeBase}, without any network access.
+ */
+public class LocalExplainer {
+
+    /**
+     * Below this confidence the local answer should be backed up by the LLM.
+     */
+    public static final double LOW_CONFIDENCE_THRESHOLD = 0.5;
+
+    private static final int PROCESSES_TO_INSPECT = 5;
+    private static final double BUSY_PROCESS_CPU_PERCENT = 10.0;
+    private static final double MEMORY_GROWTH_PERCENT_POINTS = 10.0;
+    private static final int MIN_HISTORY_FOR_TRENDS = 3;
+
+    private static final double HEALTHY_CONFIDENCE = 0.9;
+    private static final double EXPLAINED_CONFIDENCE = 0.85;
+    // Large enough that a single unexplained issue drops below LOW_CONFIDENCE_THRESHOLD
+    private static final double UNEXPLAINED_ISSUE_PENALTY = 0.4;
+    private static final double NO_HISTORY_PENALTY = 0.1;
+
+    private final KnowledgeBase knowledgeBase;
+
+    public LocalExplainer() {
+        this(new DefaultKnowledgeBase());
+    }
+
+    public LocalExplainer(KnowledgeBase knowledgeBase) {
+        this.knowledgeBase = knowledgeBase;
+    }
+
+    /**
+     * Diagnoses the current system state.
+     *
+     * @param snapshot The snapshot to explain.
+     * @param history  A window of recent samples, which may include this snapshot; may be empty.
+     * @return A markdown report and the engine's confidence in it.
+     */
+    public Explanation explain(SystemMetricsSnapshot snapshot, MetricWindow history) {
+        long start = System.nanoTime();
+
+        String title = null;
+        List<String> causes = new ArrayList<>();
+        Set<String> actions = new LinkedHashSet<>();
+        int issues = 0;
+        int unexplainedIssues = 0;
+
+        // The idle process (PID 0) is not real load, so it never counts as the busiest
+        ProcessInfo busiest = busiestProcess(snapshot);
+
+        // --- 1. System-wide thresholds ---
+        boolean cpuHigh = false;
+        for (ThresholdRule rule : knowledgeBase.getThresholdRules()) {
+            double value = metricPercent(snapshot, rule.getMetric());
+            if (value < rule.getThresholdPercent()) {
+                continue;
+            }
+            issues++;
+            if (title == null) {
+                title = rule.getTitle();
+            }
+            if (rule.getMetric() == ThresholdRule.Metric.CPU) {
+                cpuHigh = true;
+            }
+            causes.add(String.format("**%s at %.1f%%** (threshold %.0f%%): %s",
+                    metricLabel(rule.getMetric()), value, rule.getThresholdPercent(), rule.getCause()));
+            if (busiest != null) {
+                actions.addAll(rule.getProcessActions());
+            }
+            actions.addAll(rule.getActions());
+        }
+
+        // --- 2. Known busy processes ---
+        boolean busiestExplained = false;
+        int inspected = 0;
+        for (ProcessInfo process : snapshot.getTopProcesses()) {
+            if (process.getPid() == 0) {
+                continue; // The idle process is not real load
+            }
+            if (inspected++ >= PROCESSES_TO_INSPECT || process.getCpuPercent() < BUSY_PROCESS_CPU_PERCENT) {
+                break;
+            }
+            ProcessPattern pattern = findPattern(process.getName());
+            if (pattern != null) {
+                if (process == busiest) {
+                    busiestExplained = true;
+                }
+                causes.add(String.format("**%s** (PID %d, %s) is using %.1f%% CPU and %s: %s.",
+                        process.getName(), process.getPid(), pattern.getDescription(),
+                        process.getCpuPercent(), Units.formatBytes(process.getResidentBytes()), pattern.getCause()));
+                actions.add(pattern.getAction());
+            }
+        }
+        if (cpuHigh && busiest != null && !busiestExplained) {
+            // We know the CPU is busy and who is busy, but not why
+            unexplainedIssues++;
+            causes.add(String.format("**%s** (PID %d) is the largest CPU consumer at %.1f%%; it is not in the knowledge base.",
+                    busiest.getName(), busiest.getPid(), busiest.getCpuPercent()));
+            actions.add(String.format("Find out what %s is doing, or end it in Task Manager if it is not needed.", busiest.getName()));
+        } else if (cpuHigh && busiest == null) {
+            // We know the CPU is busy, but there is no process list (yet) to say who is busy
+            unexplainedIssues++;
+            causes.add("**No process list is available yet**, so the CPU load cannot be attributed to a process.");
+            actions.add("Open Task Manager and sort by CPU to find the process behind the load.");
+        }
+
+        // --- 3. Trends from recent history ---
+        boolean enoughHistory = history.size() >= MIN_HISTORY_FOR_TRENDS;
+        if (enoughHistory) {
+            if (cpuHigh) {
+                causes.add(describeCpuTrend(history));
+            }
+            double memoryGrowth = memoryPercent(snapshot) - history.memory().oldest();
+            if (memoryGrowth >= MEMORY_GROWTH_PERCENT_POINTS) {
+                issues++;
+                if (title == null) {
+                    title = "Growing Memory Usage";
+                }
+                ProcessInfo largest = largestByMemory(snapshot);
+                causes.add(String.format("**Memory use grew by %.1f points** over the last %d samples%s.",
+                        memoryGrowth, history.size(),
+                        largest == null ? "" : "; the largest process is " + largest.getName() + " at " + Units.formatBytes(largest.getResidentBytes())));
+                actions.add("Watch whether the largest process keeps growing; steady growth without load usually means a leak.");
+                if (largest == null || findPattern(largest.getName()) == null) {
+                    unexplainedIssues++;
+                }
+            }
+        }
+
+        // --- 4. Confidence ---
+        double confidence;
+        if (issues == 0) {
+            title = "System Looks Healthy";
+            causes.add("CPU, memory and disk are all below their alert thresholds.");
+            actions.add("No action needed. Ask for a deeper explanation if the system still feels slow.");
+            confidence = HEALTHY_CONFIDENCE;
+        } else {
+            confidence = EXPLAINED_CONFIDENCE - UNEXPLAINED_ISSUE_PENALTY * unexplainedIssues;
+        }
+        if (!enoughHistory) {
+            confidence -= NO_HISTORY_PENALTY;
+        }
+        confidence = Math.max(0.1, Math.min(0.95, confidence));
+
+        return new Explanation(buildMarkdown(title, causes, actions), confidence, System.nanoTime() - start);
+    }
+
+    private String buildMarkdown(String title, List<String> causes, Set<String> actions) {
+        StringBuilder markdown = new StringBuilder(512);
+        markdown.append("## ").append(title).append("\n\n");
+        markdown.append("**Likely Causes:**\n");
+        for (String cause : causes) {
+            markdown.append("* ").append(cause).append("\n");
+        }
+        markdown.append("\n**Suggested Actions:**\n");
+        for (String action : actions) {
+            markdown.append("* ").append(action).append("\n");
+        }
+        return markdown.toString();
+    }
+
+    private String describeCpuTrend(MetricWindow history) {
+        double threshold = 80;
+        for (ThresholdRule rule : knowledgeBase.getThresholdRules()) {
+            if (rule.getMetric() == ThresholdRule.Metric.CPU) {
+                threshold = rule.getThresholdPercent();
+                break;
+            }
+        }
+        int highSamples = ColumnOps.countAtLeast(history.cpu(), threshold);
+        if (highSamples * 2 >= history.size()) {
+            return String.format("The load is **sustained**: CPU was above %.0f%% in %d of the last %d samples.",
+                    threshold, highSamples, history.size());
+        }
+        return String.format("The load looks like a **short spike**: CPU was above %.0f%% in only %d of the last %d samples.",
+                threshold, highSamples, history.size());
+    }
+
+    private ProcessPattern findPattern(String processName) {
+        for (ProcessPattern pattern : knowledgeBase.getProcessPatterns()) {
+            if (pattern.matches(processName)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
+    private ProcessInfo busiestProcess(SystemMetricsSnapshot snapshot) {
+        for (ProcessInfo process : snapshot.getTopProcesses()) {
+            if (process.getPid() != 0) {
+                return process;
+            }
+        }
+        return null;
+    }
+
+    private ProcessInfo largestByMemory(SystemMetricsSnapshot snapshot) {
+        ProcessInfo largest = null;
+        for (ProcessInfo process : snapshot.getProcesses()) {
+            if (largest == null || process.getResidentBytes() > largest.getResidentBytes()) {
+                largest = process;
+            }
+        }
+        return largest;
+    }
+
+    private double metricPercent(SystemMetricsSnapshot snapshot, ThresholdRule.Metric metric) {
+        switch (metric) {
+            case CPU:
+                return snapshot.getCpuMetrics().getCpuLoad();
+            case MEMORY:
+                return memoryPercent(snapshot);
+            case DISK:
+                long diskTotal = snapshot.getDiskMetrics().getTotalBytes();
+                return diskTotal == 0 ? 0 : (double) snapshot.getDiskMetrics().getUsedBytes() / diskTotal * 100.0;
+            default:
+                return 0;
+        }
+    }
+
+    private double memoryPercent(SystemMetricsSnapshot snapshot) {
+        long memTotal = snapshot.getMemoryMetrics().getTotalBytes();
+        return memTotal == 0 ? 0 : (double) snapshot.getMemoryMetrics().getUsedBytes() / memTotal * 100.0;
+    }
+
+    private String metricLabel(ThresholdRule.Metric metric) {
+        switch (metric) {
+            case CPU:
+                return "CPU load";
+            case MEMORY:
+                return "Memory usage";
+            default:
+                return "Disk usage";
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.yourorg.telemetryagent.core;
+
+/**
+ * How much work (and garbage) each polling tick of {@link TelemetryService} is allowed to create.
+ */
+public enum SamplingMode {
+    /**
+     * Every tick enumerates all processes and file stores.
+     */
+    FULL,
+
+    /**
+     * CPU, memory and disk are sampled every tick, but the process list is only re-enumerated every few ticks
+     * and the primary file store is cached and refreshed in place. Intended for an agent that should be nearly
+     * invisible on the machine it observes.
+     */
+    LOW_ALLOCATION
+}
@@ -1,38 +1,97 @@
 package com.yourorg.telemetryagent.core;
 
+import com.yourorg.telemetryagent.core.bus.OverflowPolicy;
+import com.yourorg.telemetryagent.core.bus.SnapshotBus;
+import com.yourorg.telemetryagent.core.probe.Probe;
+import com.yourorg.telemetryagent.core.probe.ProbeResult;
+import com.yourorg.telemetryagent.core.probe.ProbeStats;
 import com.yourorg.telemetryagent.domain.*;
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
 import oshi.hardware.HardwareAbstractionLayer;
 import oshi.software.os.OperatingSystem;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import oshi.hardware.GlobalMemory;
 import oshi.software.os.OSFileStore;
 import oshi.software.os.OSProcess;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import com.yourorg.telemetryagent.domain.ProcessInfo;
-import javafx.scene.control.TableColumn;
-import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 
 /**
  * A service class responsible for collecting all system telemetry data using the OSHI library.
+ * <p>
+ * Sampling is single-writer: each tick the polling thread runs the CPU, memory, disk and process
+ * {@link Probe}s concurrently, and each probe has at most one call in flight, so every piece of delta
+ * state has exactly one writer at a time. Other threads read the results through
+ * {@link #getLatestSnapshot()}, {@link #getLatestSnapshots()} or by subscribing to {@link #getSnapshotBus()}.
  */
 public class TelemetryService {
 
+    // Probe names, as reported in SystemMetricsSnapshot.getStaleProbes() and getProbeStats()
+    public static final String PROBE_CPU = "cpu";
+    public static final String PROBE_MEMORY = "memory";
+    public static final String PROBE_DISK = "disk";
+    public static final String PROBE_PROCESSES = "processes";
+
     private final SystemInfo systemInfo;
     private final HardwareAbstractionLayer hardware;
     private final OperatingSystem operatingSystem;
     private final CentralProcessor processor;
     private ScheduledExecutorService executorService;
     private long[] prevTicks;
+    private final SnapshotBus snapshotBus = new SnapshotBus();
     private final GlobalMemory memory;
 
+    // How often LOW_ALLOCATION mode re-enumerates processes, in ticks
+    private static final int LOW_ALLOCATION_PROCESS_INTERVAL = 5;
+    // Allocation budget for a tick that does not enumerate processes
+    static final long TICK_ALLOCATION_BUDGET_BYTES = 256 * 1024;
+
+    private volatile SamplingMode samplingMode = SamplingMode.FULL;
+    private final AllocationMeter allocationMeter = new AllocationMeter(TICK_ALLOCATION_BUDGET_BYTES);
+    private long tickCount = 0;
+    // Numbers every published snapshot; the first tick may publish twice
+    private long snapshotSequence = 0;
+
+    // Written only by the sampler thread, read by anyone. Holds a consistent latest/previous pair.
+    private final AtomicReference<LatestSnapshots> latestSnapshots = new AtomicReference<>(LatestSnapshots.EMPTY);
+
+    // Two maps each, swapped every sample so their tables are reused instead of reallocated
+    private Map<Integer, OSProcess> prevProcesses = new HashMap<>();
+    private Map<Integer, OSProcess> spareProcesses = new HashMap<>();
+    private Map<Integer, ProcessInfo> prevProcessInfos = new HashMap<>();
+    private Map<Integer, ProcessInfo> spareProcessInfos = new HashMap<>();
+    private long prevProcessSampleNanos;
+
+    // Results kept from the previous tick; unchanged values reuse these instances
+    private OSFileStore primaryFileStore;
+    private boolean primaryFileStoreMissing;
+    private MemoryMetrics lastMemoryMetrics;
+    private DiskMetrics lastDiskMetrics;
+    private ProcessSample lastProcessSample = ProcessSample.EMPTY;
+
+    // Each probe gets its own deadline within the 2 second tick
+    private final ExecutorService probeExecutor;
+    private final ExecutorService diskProbeExecutor;
+    private final ExecutorService processProbeExecutor;
+    private final Probe<CpuMetrics> cpuProbe;
+    private final Probe<MemoryMetrics> memoryProbe;
+    private final Probe<DiskMetrics> diskProbe;
+    private final Probe<ProcessSample> processProbe;
+
     /**
      * Constructor for the TelemetryService.
      * Initializes the core OSHI objects.
@@ -44,25 +103,135 @@ public class TelemetryService {
         this.processor = hardware.getProcessor();
         this.memory = hardware.getMemory();
         this.prevTicks = new long[CentralProcessor.TickType.values().length];
+
+        // OSHI calls native code through JNA, which pins a virtual thread to its carrier for the whole call,
+        // so a hung call holds an OS thread either way. The quick CPU and memory reads use virtual threads
+        // (a hang pins at most one carrier each, as a probe never starts a second call behind a straggler).
+        // File store and process queries are the ones known to hang, so they get their own platform thread.
+        this.probeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.diskProbeExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("telemetry-probe-disk").daemon().factory());
+        this.processProbeExecutor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("telemetry-probe-processes").daemon().factory());
+        this.cpuProbe = new Probe<>(PROBE_CPU, Duration.ofMillis(250), new CpuMetrics(0),
+                probeExecutor, this::getCurrentCpuMetrics);
+        this.memoryProbe = new Probe<>(PROBE_MEMORY, Duration.ofMillis(250), new MemoryMetrics(0, 0),
+                probeExecutor, this::getCurrentMemoryMetrics);
+        this.diskProbe = new Probe<>(PROBE_DISK, Duration.ofMillis(500), new DiskMetrics("N/A", 0, 0),
+                diskProbeExecutor, this::getPrimaryDiskMetrics);
+        this.processProbe = new Probe<>(PROBE_PROCESSES, Duration.ofMillis(1500), ProcessSample.EMPTY,
+                processProbeExecutor, this::sampleProcesses);
     }
 
-    public MemoryMetrics getCurrentMemoryMetrics() {
+    /**
+     * @return Run, timeout and failure counters for every probe.
+     */
+    public List<ProbeStats> getProbeStats() {
+        return List.of(cpuProbe.stats(), memoryProbe.stats(), diskProbe.stats(), processProbe.stats());
+    }
+
+    /**
+     * Chooses how much each polling tick may allocate. Takes effect on the next tick.
+     */
+    public void setSamplingMode(SamplingMode samplingMode) {
+        this.samplingMode = samplingMode;
+    }
+
+    public SamplingMode getSamplingMode() {
+        return samplingMode;
+    }
+
+    /**
+     * Per-tick allocation figures for the sampling loop, including its probes.
+     */
+    public AllocationMeter getAllocationMeter() {
+        return allocationMeter;
+    }
+
+    /**
+     * @return The newest published snapshot, or null before the first sample.
+     * Safe to call from any thread; it never touches OSHI or the sampler's state.
+     */
+    public SystemMetricsSnapshot getLatestSnapshot() {
+        return latestSnapshots.get().getLatest();
+    }
+
+    /**
+     * @return The snapshot published before the latest one, or null before the second sample.
+     * Safe to call from any thread.
+     */
+    public SystemMetricsSnapshot getPreviousSnapshot() {
+        return latestSnapshots.get().getPrevious();
+    }
+
+    /**
+     * @return The latest and previous snapshots as one consistent pair. Use this instead of calling
+     * {@link #getLatestSnapshot()} and {@link #getPreviousSnapshot()} separately when both are needed,
+     * since a new sample may be published between those two calls.
+     */
+    public LatestSnapshots getLatestSnapshots() {
+        return latestSnapshots.get();
+    }
+
+    /**
+     * Makes {@code snapshot} the latest, with the current latest becoming the previous one.
+     * Only the sampler thread may call this; a get-then-set is safe because there is a single writer.
+     */
+    void publishLatest(SystemMetricsSnapshot snapshot) {
+        latestSnapshots.set(latestSnapshots.get().advance(snapshot));
+    }
+
+    private void publish(SystemMetricsSnapshot snapshot) {
+        publishLatest(snapshot);
+        snapshotBus.publish(snapshot);
+    }
+
+    private MemoryMetrics getCurrentMemoryMetrics() {
         long total = memory.getTotal();
         long available = memory.getAvailable();
-        return new MemoryMetrics(total - available, total);
+        MemoryMetrics last = lastMemoryMetrics;
+        if (last != null && last.getUsedBytes() == total - available && last.getTotalBytes() == total) {
+            return last;
+        }
+        lastMemoryMetrics = new MemoryMetrics(total - available, total);
+        return lastMemoryMetrics;
     }
 
-    public DiskMetrics getPrimaryDiskMetrics() {
+    private DiskMetrics getPrimaryDiskMetrics() {
+        OSFileStore store = findPrimaryFileStore();
+        if (store == null) {
+            // Fallback if C: drive isn't found
+            return new DiskMetrics("N/A", 0, 0);
+        }
+        long total = store.getTotalSpace();
+        long free = store.getFreeSpace();
+        DiskMetrics last = lastDiskMetrics;
+        if (last != null && last.getUsedBytes() == total - free && last.getTotalBytes() == total) {
+            return last;
+        }
+        lastDiskMetrics = new DiskMetrics(store.getName(), total - free, total);
+        return lastDiskMetrics;
+    }
+
+    private OSFileStore findPrimaryFileStore() {
+        // In LOW_ALLOCATION mode, refresh the known store in place instead of listing every store again,
+        // and don't keep listing them on machines that have no C: drive at all
+        if (samplingMode == SamplingMode.LOW_ALLOCATION) {
+            if (primaryFileStore != null ? primaryFileStore.updateAttributes() : primaryFileStoreMissing) {
+                return primaryFileStore;
+            }
+        }
         // Find the C: drive. This is a simplified approach for Windows.
         for (OSFileStore store : operatingSystem.getFileSystem().getFileStores()) {
             if (store.getMount().startsWith("C:")) {
-                long total = store.getTotalSpace();
-                long free = store.getFreeSpace();
-                return new DiskMetrics(store.getName(), total - free, total);
+                primaryFileStore = store;
+                primaryFileStoreMissing = false;
+                return store;
             }
         }
-        // Fallback if C: drive isn't found
-        return new DiskMetrics("N/A", 0, 0);
+        primaryFileStore = null;
+        primaryFileStoreMissing = true;
+        return null;
     }
 
     /**
@@ -89,10 +258,11 @@ public class TelemetryService {
 
     /**
      * Fetches the current CPU load.
-     * Note: This method is stateful and relies on the previous tick counts.
+     * Note: This method is stateful and relies on the previous tick counts,
+     * so only the CPU probe may call it; everyone else reads {@link #getLatestSnapshot()}.
      * @return A CpuMetrics object with the current load percentage.
      */
-    public CpuMetrics getCurrentCpuMetrics() {
+    private CpuMetrics getCurrentCpuMetrics() {
         // Get the current ticks and calculate the load since the last call
         double cpuLoad = processor.getSystemCpuLoadBetweenTicks(prevTicks) * 100;
 
@@ -102,58 +272,232 @@ public class TelemetryService {
         return new CpuMetrics(cpuLoad);
     }
 
-    public List<ProcessInfo> getTopProcesses(int limit) {
-        // Get a list of all processes, sort them by CPU usage in descending order
-        List<OSProcess> processes = operatingSystem.getProcesses();
-        processes.sort(Comparator.comparingDouble(OSProcess::getProcessCpuLoadCumulative).reversed());
+    /**
+     * Fetches every running process.
+     * CPU usage is measured between this call and the previous one, so like
+     * {@link #getCurrentCpuMetrics()} this method is stateful and only the process probe may call it.
+     * @return One ProcessInfo per process, in no particular order.
+     */
+    private List<ProcessInfo> getAllProcesses() {
+        return toProcessInfos(operatingSystem.getProcesses());
+    }
+
+    /**
+     * Converts one enumeration into ProcessInfo rows, measuring CPU and I/O against the previous one.
+     * Package-private so tests can feed it a fixed process list; otherwise only the process probe may call it.
+     */
+    List<ProcessInfo> toProcessInfos(List<OSProcess> processes) {
+        int logicalCores = processor.getLogicalProcessorCount();
+        long sampleNanos = System.nanoTime();
+        double elapsedSeconds = (sampleNanos - prevProcessSampleNanos) / 1_000_000_000.0;
 
-        List<ProcessInfo> topProcesses = new ArrayList<>();
-        for (int i = 0; i < processes.size() && i < limit; i++) {
-            OSProcess p = processes.get(i);
+        Map<Integer, OSProcess> currentProcesses = spareProcesses;
+        Map<Integer, ProcessInfo> currentProcessInfos = spareProcessInfos;
+        currentProcesses.clear();
+        currentProcessInfos.clear();
 
-            // OSHI gives CPU load as a fraction (0.0 to 1.0), so we multiply by 100
-            double cpuPercent = p.getProcessCpuLoadCumulative() * 100;
-            // RSS is Resident Set Size, the physical memory it's using
-            String memory = formatBytes(p.getResidentSetSize());
+        List<ProcessInfo> allProcesses = new ArrayList<>(processes.size());
+        for (OSProcess p : processes) {
+            int pid = p.getProcessID();
+            // Boxed once for all four map operations below
+            Integer pidKey = pid;
+            currentProcesses.put(pidKey, p);
+            OSProcess prev = prevProcesses.get(pidKey);
 
-            topProcesses.add(new ProcessInfo(p.getProcessID(), p.getName(), cpuPercent, memory));
+            // OSHI gives CPU load as a fraction of one core, so we scale it to the whole machine
+            double cpuPercent = p.getProcessCpuLoadBetweenTicks(prev) * 100 / logicalCores;
+
+            // Like CPU, I/O is a rate between samples; the OS counters themselves are lifetime totals
+            long ioBytesPerSecond = 0;
+            if (prev != null && elapsedSeconds > 0) {
+                long ioBytes = p.getBytesRead() + p.getBytesWritten() - prev.getBytesRead() - prev.getBytesWritten();
+                ioBytesPerSecond = Math.max(0, Math.round(ioBytes / elapsedSeconds));
+            }
+
+            // Reuse the previous row when nothing about the process changed
+            ProcessInfo info = prevProcessInfos.get(pidKey);
+            if (info == null || info.getCpuPercent() != cpuPercent
+                    || info.getResidentBytes() != p.getResidentSetSize()
+                    || info.getThreadCount() != p.getThreadCount()
+                    || info.getBytesRead() != p.getBytesRead()
+                    || info.getBytesWritten() != p.getBytesWritten()
+                    || info.getIoBytesPerSecond() != ioBytesPerSecond
+                    || !info.getName().equals(p.getName())) {
+                info = new ProcessInfo(pid, p.getName(), cpuPercent, p.getResidentSetSize(),
+                        p.getThreadCount(), p.getBytesRead(), p.getBytesWritten(), ioBytesPerSecond);
+            }
+            currentProcessInfos.put(pidKey, info);
+            allProcesses.add(info);
+        }
+
+        // Keep this sample around as the baseline for the next one, and recycle the old maps
+        spareProcesses = prevProcesses;
+        prevProcesses = currentProcesses;
+        spareProcessInfos = prevProcessInfos;
+        prevProcessInfos = currentProcessInfos;
+        prevProcessSampleNanos = sampleNanos;
+        return allProcesses;
+    }
+
+    /**
+     * Picks the processes with the highest CPU usage.
+     * @param processes The full process list from {@link #getAllProcesses()}.
+     * @param limit The maximum number of processes to return.
+     * @return The top processes, highest CPU usage first.
+     */
+    public List<ProcessInfo> getTopProcesses(List<ProcessInfo> processes, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // Partial insertion sort into a small list; avoids copying and sorting the full process list
+        List<ProcessInfo> top = new ArrayList<>(limit + 1);
+        for (ProcessInfo process : processes) {
+            if (top.size() == limit && process.getCpuPercent() <= top.get(limit - 1).getCpuPercent()) {
+                continue;
+            }
+            int index = top.size();
+            while (index > 0 && top.get(index - 1).getCpuPercent() < process.getCpuPercent()) {
+                index--;
+            }
+            top.add(index, process);
+            if (top.size() > limit) {
+                top.remove(limit);
+            }
         }
-        return topProcesses;
+        return top;
     }
 
-    private String formatBytes(long bytes) {
-        if (bytes < 1024) return bytes + " B";
-        int exp = (int) (Math.log(bytes) / Math.log(1024));
-        char pre = "KMGTPE".charAt(exp - 1);
-        return String.format("%.1f %sB", bytes / Math.pow(1024, exp), pre);
+    /**
+     * The bus every sampled snapshot is published to. Attach UI, storage or exporter subscribers here.
+     */
+    public SnapshotBus getSnapshotBus() {
+        return snapshotBus;
     }
 
     /**
-     * Starts polling for telemetry data at a fixed interval.
+     * Starts polling for telemetry data and delivers each snapshot to a single consumer.
+     * The consumer runs on its own bus thread and only ever sees the latest snapshot.
      */
     public void startPolling(Consumer<SystemMetricsSnapshot> snapshotConsumer) {
+        snapshotBus.subscribe("default", 1, OverflowPolicy.LATEST_ONLY, snapshotConsumer);
+        startPolling();
+    }
+
+    /**
+     * Starts polling for telemetry data and delivers each snapshot to a single Flow subscriber.
+     * The subscriber only ever sees the latest snapshot, and only after it has requested one.
+     */
+    public void startPolling(Flow.Subscriber<? super SystemMetricsSnapshot> snapshotSubscriber) {
+        snapshotBus.subscribe("default", 1, OverflowPolicy.LATEST_ONLY, snapshotSubscriber);
+        startPolling();
+    }
+
+    /**
+     * Starts polling for telemetry data at a fixed interval, publishing to {@link #getSnapshotBus()}.
+     */
+    public void startPolling() {
         // Creates a single-threaded scheduler.
         executorService = Executors.newSingleThreadScheduledExecutor();
 
-        // The task to run. It will fetch metrics and print them.
+        // The task to run. It only samples and publishes; delivery happens on the bus threads.
         Runnable pollingTask = () -> {
-            // Collect all metrics
-            CpuMetrics cpu = getCurrentCpuMetrics();
-            MemoryMetrics mem = getCurrentMemoryMetrics();
-            DiskMetrics disk = getPrimaryDiskMetrics();
-            List<ProcessInfo> processes = getTopProcesses(10);
-
-            // Create the snapshot object
-            SystemMetricsSnapshot snapshot = new SystemMetricsSnapshot(cpu, mem, disk, processes);
-
-            // Pass the complete snapshot to the listener
-            snapshotConsumer.accept(snapshot);
+            try {
+                sampleTick();
+            } catch (RuntimeException e) {
+                // An escaped exception would silently cancel the schedule
+                System.err.println("Telemetry sampling tick failed: " + e.getMessage());
+            }
         };
 
         // Schedule the task to run every 2 seconds, after an initial 0-second delay.
         executorService.scheduleAtFixedRate(pollingTask, 0, 2, TimeUnit.SECONDS);
     }
 
+    /**
+     * Collects and publishes one snapshot, measuring how much the tick allocates.
+     * Runs only on the polling thread (package-private so tests can drive ticks directly);
+     * the probes it starts do the actual OSHI calls.
+     */
+    SystemMetricsSnapshot sampleTick() {
+        long tickStart = System.nanoTime();
+        long allocationStart = allocationMeter.begin();
+
+        // In LOW_ALLOCATION mode the process list (by far the largest source of garbage) is refreshed less often
+        boolean sampleProcesses = samplingMode == SamplingMode.FULL
+                || tickCount % LOW_ALLOCATION_PROCESS_INTERVAL == 0;
+        tickCount++;
+
+        // Start every probe first so they run concurrently, then collect each within its own deadline
+        long timestamp = System.currentTimeMillis();
+        cpuProbe.start();
+        memoryProbe.start();
+        diskProbe.start();
+        if (sampleProcesses) {
+            processProbe.start();
+        }
+        ProbeResult<CpuMetrics> cpu = cpuProbe.await(tickStart);
+        ProbeResult<MemoryMetrics> mem = memoryProbe.await(tickStart);
+        ProbeResult<DiskMetrics> disk = diskProbe.await(tickStart);
+        boolean processesStale = false;
+        if (sampleProcesses) {
+            if (lastProcessSample == ProcessSample.EMPTY && !processProbe.isDone()) {
+                // Nothing enumerated yet: show CPU, memory and disk now rather than after the slow process list
+                publish(buildSnapshot(timestamp, cpu, mem, disk, true));
+            }
+            ProbeResult<ProcessSample> processes = processProbe.await(tickStart);
+            lastProcessSample = processes.getValue();
+            processesStale = processes.isStale();
+        }
+
+        SystemMetricsSnapshot snapshot = buildSnapshot(timestamp, cpu, mem, disk, processesStale);
+        publish(snapshot);
+
+        // Ticks that enumerate processes are dominated by OSHI's own allocations, so only light ticks are budgeted
+        allocationMeter.end(allocationStart, !sampleProcesses);
+        return snapshot;
+    }
+
+    /**
+     * Builds the next snapshot from this tick's probe results and the latest process sample.
+     */
+    private SystemMetricsSnapshot buildSnapshot(long timestamp, ProbeResult<CpuMetrics> cpu, ProbeResult<MemoryMetrics> mem,
+                                                ProbeResult<DiskMetrics> disk, boolean processesStale) {
+        Set<String> staleProbes = Collections.emptySet();
+        if (cpu.isStale() || mem.isStale() || disk.isStale() || processesStale) {
+            staleProbes = new HashSet<>();
+            if (cpu.isStale()) staleProbes.add(PROBE_CPU);
+            if (mem.isStale()) staleProbes.add(PROBE_MEMORY);
+            if (disk.isStale()) staleProbes.add(PROBE_DISK);
+            if (processesStale) staleProbes.add(PROBE_PROCESSES);
+            staleProbes = Collections.unmodifiableSet(staleProbes);
+        }
+        snapshotSequence++;
+        return new SystemMetricsSnapshot(snapshotSequence, timestamp, cpu.getValue(), mem.getValue(), disk.getValue(),
+                lastProcessSample.processes, lastProcessSample.topProcesses, staleProbes);
+    }
+
+    private ProcessSample sampleProcesses() {
+        // Wrapped once here so every snapshot sharing these lists sees them read-only
+        List<ProcessInfo> processes = Collections.unmodifiableList(getAllProcesses());
+        List<ProcessInfo> topProcesses = Collections.unmodifiableList(getTopProcesses(processes, 10));
+        return new ProcessSample(processes, topProcesses);
+    }
+
+    /**
+     * The process probe's result: the full list and the top CPU consumers from the same enumeration.
+     */
+    private static final class ProcessSample {
+        static final ProcessSample EMPTY = new ProcessSample(Collections.emptyList(), Collections.emptyList());
+
+        final List<ProcessInfo> processes;
+        final List<ProcessInfo> topProcesses;
+
+        ProcessSample(List<ProcessInfo> processes, List<ProcessInfo> topProcesses) {
+            this.processes = processes;
+            this.topProcesses = topProcesses;
+        }
+    }
+
     /**
      * Stops the polling service gracefully.
      */
@@ -161,6 +505,14 @@ public class TelemetryService {
         if (executorService != null && !executorService.isShutdown()) {
             System.out.println("Shutting down telemetry service...");
             executorService.shutdown();
+            probeExecutor.shutdown();
+            diskProbeExecutor.shutdown();
+            processProbeExecutor.shutdown();
+            getProbeStats().forEach(stats -> System.out.println("Probe " + stats));
+            snapshotBus.getSubscriberStats().forEach(stats -> System.out.println("Subscriber " + stats));
+            System.out.println("Largest sampling tick allocation: " + allocationMeter.getMaxTickBytes() + " bytes ("
+                    + allocationMeter.getOverBudgetTicks() + " ticks over budget)");
+            snapshotBus.close();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.yourorg.telemetryagent.core.analytics;
+
+/**
+ * Bulk operations over {@link ColumnView}s.
+ * <p>
+ * Each operation walks the one or two contiguous ranges of the backing array with simple counted
+ * loops over primitive doubles: no boxing, no getters, no pointer chasing. The JIT can unroll
+ * these loops and vectorize the ones without a floating-point ordering dependency (min, max, count).
+ */
+public final class ColumnOps {
+
+    private ColumnOps() {
+    }
+
+    public static double sum(ColumnView view) {
+        double[] data = view.data;
+        double sum = 0;
+        int end = view.start + view.firstLength();
+        for (int i = view.start; i < end; i++) {
+            sum += data[i];
+        }
+        int wrapped = view.secondLength();
+        for (int i = 0; i < wrapped; i++) {
+            sum += data[i];
+        }
+        return sum;
+    }
+
+    /**
+     * @return The arithmetic mean, or NaN for an empty view.
+     */
+    public static double mean(ColumnView view) {
+        return view.isEmpty() ? Double.NaN : sum(view) / view.size();
+    }
+
+    /**
+     * @return The smallest value, or NaN for an empty view.
+     */
+    public static double min(ColumnView view) {
+        if (view.isEmpty()) {
+            return Double.NaN;
+        }
+        double[] data = view.data;
+        double min = Double.POSITIVE_INFINITY;
+        int end = view.start + view.firstLength();
+        for (int i = view.start; i < end; i++) {
+            min = Math.min(min, data[i]);
+        }
+        int wrapped = view.secondLength();
+        for (int i = 0; i < wrapped; i++) {
+            min = Math.min(min, data[i]);
+        }
+        return min;
+    }
+
+    /**
+     * @return The largest value, or NaN for an empty view.
+     */
+    public static double max(ColumnView view) {
+        if (view.isEmpty()) {
+            return Double.NaN;
+        }
+        double[] data = view.data;
+        double max = Double.NEGATIVE_INFINITY;
+        int end = view.start + view.firstLength();
+        for (int i = view.start; i < end; i++) {
+            max = Math.max(max, data[i]);
+        }
+        int wrapped = view.secondLength();
+        for (int i = 0; i < wrapped; i++) {
+            max = Math.max(max, data[i]);
+        }
+        return max;
+    }
+
+    /**
+     * @return How many samples are greater than or equal to {@code threshold}.
+     */
+    public static int countAtLeast(ColumnView view, double threshold) {
+        double[] data = view.data;
+        int count = 0;
+        int end = view.start + view.firstLength();
+        for (int i = view.start; i < end; i++) {
+            count += data[i] >= threshold ? 1 : 0;
+        }
+        int wrapped = view.secondLength();
+        for (int i = 0; i < wrapped; i++) {
+            count += data[i] >= threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Trailing moving average, computed with a running sum in a single pass.
+     * The first {@code period - 1} outputs average over the samples available so far.
+     *
+     * @param view   The input column.
+     * @param period How many samples each average covers.
+     * @param out    Receives one average per sample, oldest first; must hold at least {@code view.size()} values.
+     *               Passing the same array on every call keeps this allocation-free.
+     * @return {@code out}, for chaining.
+     */
+    public static double[] movingAverage(ColumnView view, int period, double[] out) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1, got " + period);
+        }
+        if (out.length < view.size()) {
+            throw new IllegalArgumentException("Output holds " + out.length + " values, need " + view.size());
+        }
+        double[] data = view.data;
+        int capacity = data.length;
+        int size = view.size();
+        double runningSum = 0;
+        int slot = view.start;
+        int i = 0;
+        // Warm-up: average over the samples seen so far
+        for (int end = Math.min(period, size); i < end; i++) {
+            runningSum += data[slot];
+            out[i] = runningSum / (i + 1);
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+        }
+        // Steady state: one dependent add per sample (the in/out difference is computed off the chain)
+        // and a multiply instead of a divide
+        double inversePeriod = 1.0 / period;
+        int leavingSlot = view.start;
+        for (; i < size; i++) {
+            runningSum += data[slot] - data[leavingSlot];
+            out[i] = runningSum * inversePeriod;
+            slot = slot + 1 == capacity ? 0 : slot + 1;
+            leavingSlot = leavingSlot + 1 == capacity ? 0 : leavingSlot + 1;
+        }
+        return out;
+    }
+
+    /**
+     * Pearson correlation between two columns of the same window, e.g. system CPU and one process's CPU.
+     *
+     * @return A value from -1 to 1, or NaN if either column is constant or there are fewer than two samples.
+     */
+    public static double correlation(ColumnView a, ColumnView b) {
+        if (a.size != b.size || a.start != b.start || a.data.length != b.data.length) {
+            throw new IllegalArgumentException("Columns must come from the same window");
+        }
+        int n = a.size;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double meanA = mean(a);
+        double meanB = mean(b);
+
+        // Second pass over centred values; more stable than the single-pass sum-of-products formula
+        double[] x = a.data;
+        double[] y = b.data;
+        double covariance = 0;
+        double varianceA = 0;
+        double varianceB = 0;
+        int end = a.start + a.firstLength();
+        for (int i = a.start; i < end; i++) {
+            double dx = x[i] - meanA;
+            double dy = y[i] - meanB;
+            covariance += dx * dy;
+            varianceA += dx * dx;
+            varianceB += dy * dy;
+        }
+        int wrapped = a.secondLength();
+        for (int i = 0; i < wrapped; i++) {
+            double dx = x[i] - meanA;
+            double dy = y[i] - meanB;
+            covariance += dx * dy;
+            varianceA += dx * dx;
+            varianceB += dy * dy;
+        }
+        if (varianceA == 0 || varianceB == 0) {
+            return Double.NaN;
+        }
+        return covariance / Math.sqrt(varianceA * varianceB);
+    }
+}
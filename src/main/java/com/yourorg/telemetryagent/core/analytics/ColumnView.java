@@ -0,0 +1,53 @@
+package com.yourorg.telemetryagent.core.analytics;
+
+/**
+ * A read-only, zero-copy view of one metric column in a {@link MetricWindow}, oldest sample first.
+ * <p>
+ * The view points straight at the window's ring buffer, so it is only valid until the next append.
+ * The samples occupy at most two contiguous ranges of the backing array, which is what lets
+ * {@link ColumnOps} run plain counted loops over them.
+ */
+public final class ColumnView {
+    final double[] data;
+    final int start;
+    final int size;
+
+    ColumnView(double[] data, int start, int size) {
+        this.data = data;
+        this.start = start;
+        this.size = size;
+    }
+
+    public int size() { return size; }
+
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * @param index 0 for the oldest sample, {@code size() - 1} for the newest.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int slot = start + index;
+        return data[slot < data.length ? slot : slot - data.length];
+    }
+
+    public double oldest() { return get(0); }
+
+    public double latest() { return get(size - 1); }
+
+    /**
+     * Length of the first contiguous range, which starts at {@code start} in the backing array.
+     */
+    int firstLength() {
+        return Math.min(size, data.length - start);
+    }
+
+    /**
+     * Length of the wrapped-around range, which starts at index 0 in the backing array.
+     */
+    int secondLength() {
+        return size - firstLength();
+    }
+}
@@ -0,0 +1,120 @@
+package com.yourorg.telemetryagent.core.analytics;
+
+import com.yourorg.telemetryagent.domain.ProcessInfo;
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The last N samples stored column by column: one primitive array per metric, used as a ring buffer.
+ * <p>
+ * Appending is O(1) in the window length and copies no history. Reading is done through
+ * {@link ColumnView}s, which point straight at the arrays, and {@link ColumnOps}, which run tight
+ * loops over them. This replaces walking lists of {@link SystemMetricsSnapshot} objects and their getters.
+ * <p>
+ * A window is not thread-safe. Confine it to one thread, e.g. the FX thread or a bus subscriber's
+ * delivery thread, and do the reads there too.
+ */
+public class MetricWindow {
+
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[] cpuPercent;
+    private final double[] memoryPercent;
+    private final double[] diskPercent;
+    // Lower-case process name -> that process's CPU % in each slot (0 when it was not running)
+    private final Map<String, double[]> processCpuPercent = new HashMap<>();
+
+    private int head = 0;   // Slot the next sample is written to
+    private int size = 0;
+
+    public MetricWindow(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.cpuPercent = new double[capacity];
+        this.memoryPercent = new double[capacity];
+        this.diskPercent = new double[capacity];
+    }
+
+    /**
+     * Starts recording a per-process CPU column for every process with this name, from the next append on.
+     * Earlier slots read as 0.
+     */
+    public void trackProcess(String processName) {
+        processCpuPercent.computeIfAbsent(processName.toLowerCase(Locale.ROOT), name -> new double[capacity]);
+    }
+
+    /**
+     * Adds a sample, overwriting the oldest one once the window is full.
+     */
+    public void append(SystemMetricsSnapshot snapshot) {
+        int slot = head;
+        timestamps[slot] = snapshot.getTimestampMillis();
+        cpuPercent[slot] = snapshot.getCpuMetrics().getCpuLoad();
+        memoryPercent[slot] = percent(snapshot.getMemoryMetrics().getUsedBytes(), snapshot.getMemoryMetrics().getTotalBytes());
+        diskPercent[slot] = percent(snapshot.getDiskMetrics().getUsedBytes(), snapshot.getDiskMetrics().getTotalBytes());
+
+        if (!processCpuPercent.isEmpty()) {
+            for (double[] column : processCpuPercent.values()) {
+                column[slot] = 0;
+            }
+            // Sum over all instances, so e.g. every chrome.exe counts towards "chrome.exe"
+            for (ProcessInfo process : snapshot.getProcesses()) {
+                double[] column = processCpuPercent.get(process.getName().toLowerCase(Locale.ROOT));
+                if (column != null) {
+                    column[slot] += process.getCpuPercent();
+                }
+            }
+        }
+
+        head = head + 1 == capacity ? 0 : head + 1;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    public int size() { return size; }
+    public int capacity() { return capacity; }
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * @param index 0 for the oldest sample, {@code size() - 1} for the newest.
+     * @return When that sample was taken, in epoch milliseconds.
+     */
+    public long getTimestampMillis(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        int slot = oldestSlot() + index;
+        return timestamps[slot < capacity ? slot : slot - capacity];
+    }
+
+    public ColumnView cpu() { return view(cpuPercent); }
+    public ColumnView memory() { return view(memoryPercent); }
+    public ColumnView disk() { return view(diskPercent); }
+
+    /**
+     * @return The CPU column of a process registered with {@link #trackProcess}, or null if it is not tracked.
+     */
+    public ColumnView processCpu(String processName) {
+        double[] column = processCpuPercent.get(processName.toLowerCase(Locale.ROOT));
+        return column == null ? null : view(column);
+    }
+
+    private ColumnView view(double[] column) {
+        return new ColumnView(column, oldestSlot(), size);
+    }
+
+    private int oldestSlot() {
+        return size < capacity ? 0 : head;
+    }
+
+    private static double percent(long used, long total) {
+        return total == 0 ? 0 : (double) used / total * 100.0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yourorg.telemetryagent.core.bus;
+
+/**
+ * What a subscriber's buffer does when a new snapshot arrives and the buffer is already full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Discard the oldest buffered snapshot to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Keep only the newest snapshot; anything still buffered is discarded.
+     */
+    LATEST_ONLY,
+
+    /**
+     * Never discard buffered snapshots. The new snapshot waits in the subscriber's own one-slot
+     * hand-off until its delivery thread frees a buffer slot, and is dropped if that takes longer
+     * than the block timeout or if a newer snapshot arrives first. Only this subscriber waits;
+     * publishing and every other subscriber carry on.
+     */
+    BLOCK
+}
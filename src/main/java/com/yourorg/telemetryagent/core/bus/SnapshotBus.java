@@ -0,0 +1,349 @@
+package com.yourorg.telemetryagent.core.bus;
+
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fans telemetry snapshots out to any number of subscribers.
+ * <p>
+ * Each subscriber gets its own bounded buffer, overflow policy and delivery thread, so a slow
+ * subscriber only ever loses its own snapshots, and every loss is counted in that subscriber's
+ * {@link SubscriberStats}. {@link #publish} never blocks: it appends to each buffer and schedules
+ * delivery, which keeps the sampling cadence independent of how fast anyone consumes.
+ */
+public class SnapshotBus implements Flow.Publisher<SystemMetricsSnapshot>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotBus.class);
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final Duration DEFAULT_BLOCK_TIMEOUT = Duration.ofSeconds(1);
+
+    private final List<BusSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService deliveryExecutor;
+    private volatile boolean closed;
+
+    public SnapshotBus() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.deliveryExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-bus-delivery-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Subscribes with the default buffer size and the {@link OverflowPolicy#DROP_OLDEST} policy.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super SystemMetricsSnapshot> subscriber) {
+        subscribe(subscriber.getClass().getSimpleName(), DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST,
+                DEFAULT_BLOCK_TIMEOUT, subscriber);
+    }
+
+    /**
+     * Subscribes a Flow subscriber with its own buffer and overflow policy.
+     *
+     * @param name         A label for this subscriber in {@link #getSubscriberStats()}.
+     * @param capacity     The maximum number of snapshots buffered for this subscriber.
+     * @param policy       What to do when the buffer is full.
+     * @param blockTimeout How long a snapshot may wait for buffer space under {@link OverflowPolicy#BLOCK}.
+     * @param subscriber   The subscriber; it receives snapshots only as fast as it requests them.
+     */
+    public void subscribe(String name, int capacity, OverflowPolicy policy, Duration blockTimeout,
+                          Flow.Subscriber<? super SystemMetricsSnapshot> subscriber) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, got " + capacity);
+        }
+        BusSubscription subscription = new BusSubscription(name, capacity, policy, blockTimeout, subscriber);
+        subscriber.onSubscribe(subscription);
+        if (closed) {
+            subscription.complete();
+            return;
+        }
+        subscriptions.add(subscription);
+    }
+
+    /**
+     * Subscribes a Flow subscriber with its own buffer and overflow policy, using the default block timeout.
+     */
+    public void subscribe(String name, int capacity, OverflowPolicy policy,
+                          Flow.Subscriber<? super SystemMetricsSnapshot> subscriber) {
+        subscribe(name, capacity, policy, DEFAULT_BLOCK_TIMEOUT, subscriber);
+    }
+
+    /**
+     * Convenience for plain callbacks: subscribes a consumer that requests one snapshot at a time.
+     * The next snapshot is requested as soon as the consumer returns, so a consumer that only hands
+     * the snapshot off to another thread should subscribe a Flow subscriber and request when done.
+     */
+    public void subscribe(String name, int capacity, OverflowPolicy policy, Consumer<SystemMetricsSnapshot> consumer) {
+        subscribe(name, capacity, policy, new Flow.Subscriber<SystemMetricsSnapshot>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(SystemMetricsSnapshot item) {
+                try {
+                    consumer.accept(item);
+                } finally {
+                    subscription.request(1);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                logger.error("Subscriber '{}' failed: {}", name, throwable.getMessage(), throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    /**
+     * Offers a snapshot to every subscriber. Never blocks; each subscriber's overflow policy
+     * decides what happens when its own buffer is full.
+     */
+    public void publish(SystemMetricsSnapshot snapshot) {
+        if (closed) {
+            return;
+        }
+        for (BusSubscription subscription : subscriptions) {
+            subscription.offer(snapshot);
+        }
+    }
+
+    /**
+     * @return Lag and drop counters for every current subscriber.
+     */
+    public List<SubscriberStats> getSubscriberStats() {
+        List<SubscriberStats> stats = new ArrayList<>(subscriptions.size());
+        for (BusSubscription subscription : subscriptions) {
+            stats.add(subscription.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Stops accepting snapshots. Subscribers receive what is already buffered, then onComplete.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (BusSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+        deliveryExecutor.shutdown();
+    }
+
+    /**
+     * One subscriber's buffer, demand and counters. All buffer state is guarded by {@code this}.
+     */
+    private final class BusSubscription implements Flow.Subscription {
+        private final String name;
+        private final int capacity;
+        private final OverflowPolicy policy;
+        private final long blockTimeoutNanos;
+        private final Flow.Subscriber<? super SystemMetricsSnapshot> subscriber;
+        private final ArrayDeque<SystemMetricsSnapshot> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // BLOCK only: the snapshot waiting for a buffer slot, and when it started waiting
+        private SystemMetricsSnapshot pending;
+        private long pendingSinceNanos;
+
+        private long demand;
+        private boolean cancelled;
+        private boolean completing;
+        private boolean terminated;
+        private int maxLag;
+        private long received;
+        private long delivered;
+        private long dropped;
+
+        BusSubscription(String name, int capacity, OverflowPolicy policy, Duration blockTimeout,
+                        Flow.Subscriber<? super SystemMetricsSnapshot> subscriber) {
+            this.name = name;
+            this.capacity = policy == OverflowPolicy.LATEST_ONLY ? 1 : capacity;
+            this.policy = policy;
+            this.blockTimeoutNanos = blockTimeout.toNanos();
+            this.subscriber = subscriber;
+            this.buffer = new ArrayDeque<>(this.capacity);
+        }
+
+        /**
+         * Buffers a snapshot according to the overflow policy. Never blocks the publishing thread.
+         */
+        void offer(SystemMetricsSnapshot snapshot) {
+            synchronized (this) {
+                if (cancelled || completing) {
+                    return;
+                }
+                received++;
+                if (buffer.size() < capacity) {
+                    buffer.addLast(snapshot);
+                } else if (policy == OverflowPolicy.BLOCK) {
+                    // Park it until the drain frees a slot; a newer arrival replaces it
+                    if (pending != null) {
+                        dropped++;
+                    }
+                    pending = snapshot;
+                    pendingSinceNanos = System.nanoTime();
+                } else {
+                    // DROP_OLDEST and LATEST_ONLY both evict from the head
+                    buffer.pollFirst();
+                    dropped++;
+                    buffer.addLast(snapshot);
+                }
+                maxLag = Math.max(maxLag, lag());
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Moves the parked BLOCK snapshot into the slot just freed, or drops it if it waited too long.
+         */
+        private void admitPending() {
+            if (pending == null) {
+                return;
+            }
+            if (System.nanoTime() - pendingSinceNanos <= blockTimeoutNanos) {
+                buffer.addLast(pending);
+            } else {
+                dropped++;
+            }
+            pending = null;
+        }
+
+        private int lag() {
+            return buffer.size() + (pending == null ? 0 : 1);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Requested " + n + " items; must be positive"));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                buffer.clear();
+                pending = null;
+            }
+            subscriptions.remove(this);
+        }
+
+        void complete() {
+            synchronized (this) {
+                completing = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    deliveryExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // The bus is shutting down; finish on the calling thread instead
+                    drain();
+                }
+            }
+        }
+
+        /**
+         * Delivers buffered snapshots while there is demand. Only one drain runs at a time per subscriber.
+         */
+        private void drain() {
+            try {
+                while (true) {
+                    SystemMetricsSnapshot next;
+                    boolean finish = false;
+                    synchronized (this) {
+                        if (cancelled || terminated) {
+                            return;
+                        }
+                        if (buffer.isEmpty()) {
+                            if (!completing) {
+                                return;
+                            }
+                            terminated = true;
+                            finish = true;
+                            next = null;
+                        } else if (demand == 0) {
+                            return;
+                        } else {
+                            next = buffer.pollFirst();
+                            if (demand != Long.MAX_VALUE) {
+                                demand--;
+                            }
+                            delivered++;
+                            admitPending();
+                        }
+                    }
+                    if (finish) {
+                        subscriptions.remove(this);
+                        subscriber.onComplete();
+                        return;
+                    }
+                    try {
+                        subscriber.onNext(next);
+                    } catch (Throwable t) {
+                        cancel();
+                        subscriber.onError(t);
+                        return;
+                    }
+                }
+            } finally {
+                draining.set(false);
+                // Work may have arrived between the last check and clearing the flag
+                if (hasDeliverableWork()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private synchronized boolean hasDeliverableWork() {
+            if (cancelled || terminated) {
+                return false;
+            }
+            return (!buffer.isEmpty() && demand > 0) || (buffer.isEmpty() && completing);
+        }
+
+        synchronized SubscriberStats stats() {
+            return new SubscriberStats(name, policy, capacity, lag(), maxLag, received, delivered, dropped);
+        }
+    }
+}
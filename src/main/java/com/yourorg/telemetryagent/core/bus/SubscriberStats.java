@@ -0,0 +1,42 @@
+package com.yourorg.telemetryagent.core.bus;
+
+/**
+ * A point-in-time view of how well one subscriber is keeping up with the bus.
+ */
+public class SubscriberStats {
+    private final String name;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final int lag;          // Snapshots buffered but not yet delivered
+    private final int maxLag;       // Highest lag seen since subscribing
+    private final long received;
+    private final long delivered;
+    private final long dropped;
+
+    public SubscriberStats(String name, OverflowPolicy policy, int capacity, int lag, int maxLag,
+                           long received, long delivered, long dropped) {
+        this.name = name;
+        this.policy = policy;
+        this.capacity = capacity;
+        this.lag = lag;
+        this.maxLag = maxLag;
+        this.received = received;
+        this.delivered = delivered;
+        this.dropped = dropped;
+    }
+
+    public String getName() { return name; }
+    public OverflowPolicy getPolicy() { return policy; }
+    public int getCapacity() { return capacity; }
+    public int getLag() { return lag; }
+    public int getMaxLag() { return maxLag; }
+    public long getReceived() { return received; }
+    public long getDelivered() { return delivered; }
+    public long getDropped() { return dropped; }
+
+    @Override
+    public String toString() {
+        return String.format("%s [%s, cap=%d]: lag=%d (max %d), received=%d, delivered=%d, dropped=%d",
+                name, policy, capacity, lag, maxLag, received, delivered, dropped);
+    }
+}
@@ -0,0 +1,81 @@
+package com.yourorg.telemetryagent.core.explain;
+
+import java.util.List;
+
+/**
+ * Built-in knowledge about common Windows performance problems and the processes usually behind them.
+ */
+public class DefaultKnowledgeBase implements KnowledgeBase {
+
+    private static final List<ThresholdRule> THRESHOLD_RULES = List.of(
+            new ThresholdRule(ThresholdRule.Metric.CPU, 80, "High CPU Load",
+                    "The processor is close to saturation, so every application competes for CPU time and feels sluggish.",
+                    List.of("Identify the busiest process below and close or restart it if it is not doing useful work."),
+                    List.of("Check Task Manager > Startup apps for programs that should not run in the background.")),
+            new ThresholdRule(ThresholdRule.Metric.MEMORY, 90, "High Memory Pressure",
+                    "Physical memory is nearly exhausted, so Windows pages memory to disk, which slows everything down.",
+                    List.of("Close applications or browser tabs that hold large amounts of memory.",
+                            "If memory keeps growing over time, restart the process that owns it; it may be leaking.")),
+            new ThresholdRule(ThresholdRule.Metric.DISK, 90, "Low Disk Space",
+                    "The system drive is almost full, which slows down updates, paging and temporary file creation.",
+                    List.of("Run Disk Cleanup (cleanmgr) and remove old Windows Update files.",
+                            "Move large files to another drive or empty the Recycle Bin."))
+    );
+
+    private static final List<ProcessPattern> PROCESS_PATTERNS = List.of(
+            new ProcessPattern(List.of("msmpeng.exe", "mpdefendercoreservice.exe", "nissrv.exe"),
+                    "Microsoft Defender Antivirus",
+                    "a Defender scan or signature update is in progress",
+                    "Let the scan finish, or schedule full scans outside working hours."),
+            new ProcessPattern(List.of("searchindexer.exe", "searchprotocolhost.exe", "searchfilterhost.exe"),
+                    "Windows Search indexer",
+                    "Windows Search is (re)building its index, typically after many files changed",
+                    "Wait for indexing to finish, or exclude large folders under Indexing Options."),
+            new ProcessPattern(List.of("tiworker.exe", "trustedinstaller.exe", "wuauclt.exe", "usoclient.exe", "mousocoreworker.exe"),
+                    "Windows Update",
+                    "Windows Update is installing or servicing components",
+                    "Let the update complete and restart when prompted."),
+            new ProcessPattern(List.of("chrome.exe", "msedge.exe", "firefox.exe", "brave.exe", "opera.exe"),
+                    "Web browser",
+                    "open tabs or extensions are doing heavy work (video, web apps, scripts)",
+                    "Use the browser's own task manager (Shift+Esc) to find and close the heaviest tab or extension."),
+            new ProcessPattern(List.of("teams.exe", "ms-teams.exe", "zoom.exe", "slack.exe", "discord.exe"),
+                    "Collaboration app",
+                    "video calls, screen sharing or a large chat history are consuming resources",
+                    "Turn off incoming video or restart the app after long sessions."),
+            new ProcessPattern(List.of("onedrive.exe", "dropbox.exe", "googledrivefs.exe"),
+                    "Cloud file sync",
+                    "many files are being synchronized",
+                    "Pause syncing until the current work is done."),
+            new ProcessPattern(List.of("wmiprvse.exe"),
+                    "WMI provider host",
+                    "a monitoring or management tool is polling WMI aggressively",
+                    "Check Event Viewer > WMI-Activity for the client that is issuing the queries."),
+            new ProcessPattern(List.of("system.exe", "interrupts.exe"),
+                    "Windows kernel",
+                    "a driver or hardware interrupt storm is keeping the kernel busy",
+                    "Update chipset, storage and network drivers; check Device Manager for failing devices."),
+            new ProcessPattern(List.of("dwm.exe"),
+                    "Desktop Window Manager",
+                    "the display compositor is working hard, often because of many windows, high refresh rates or GPU driver problems",
+                    "Update the graphics driver and close animation-heavy windows."),
+            new ProcessPattern(List.of("java.exe", "javaw.exe"),
+                    "Java application",
+                    "a Java program is busy; this may include this telemetry agent or a build tool",
+                    "Check which Java application is running and whether its heap size is appropriate."),
+            new ProcessPattern(List.of("code.exe", "idea64.exe", "devenv.exe"),
+                    "Development tool",
+                    "the IDE is indexing, building or running language servers",
+                    "Wait for indexing to finish or exclude build output folders from the project.")
+    );
+
+    @Override
+    public List<ThresholdRule> getThresholdRules() {
+        return THRESHOLD_RULES;
+    }
+
+    @Override
+    public List<ProcessPattern> getProcessPatterns() {
+        return PROCESS_PATTERNS;
+    }
+}
@@ -0,0 +1,20 @@
+package com.yourorg.telemetryagent.core.explain;
+
+/**
+ * The result of a local diagnosis: a markdown report plus how sure the engine is about it.
+ */
+public class Explanation {
+    private final String markdown;
+    private final double confidence;   // 0.0 (guessing) to 1.0 (certain)
+    private final long elapsedNanos;   // Time taken to produce the report
+
+    public Explanation(String markdown, double confidence, long elapsedNanos) {
+        this.markdown = markdown;
+        this.confidence = confidence;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getMarkdown() { return markdown; }
+    public double getConfidence() { return confidence; }
+    public long getElapsedNanos() { return elapsedNanos; }
+}
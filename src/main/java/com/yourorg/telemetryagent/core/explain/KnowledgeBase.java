@@ -0,0 +1,19 @@
+package com.yourorg.telemetryagent.core.explain;
+
+import java.util.List;
+
+/**
+ * The facts the local explainer reasons with. Implement this to add site-specific processes or thresholds.
+ */
+public interface KnowledgeBase {
+
+    /**
+     * @return Rules for system-wide metrics, checked in order; the first one that fires names the report.
+     */
+    List<ThresholdRule> getThresholdRules();
+
+    /**
+     * @return Processes whose heavy resource use has a well-known explanation.
+     */
+    List<ProcessPattern> getProcessPatterns();
+}
@@ -0,0 +1,37 @@
+package com.yourorg.telemetryagent.core.explain;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A known process (or family of processes) and what it usually means when it is busy.
+ */
+public class ProcessPattern {
+    private final List<String> executableNames;   // Lower-case names, e.g. "msmpeng.exe"
+    private final String description;
+    private final String cause;
+    private final String action;
+
+    public ProcessPattern(List<String> executableNames, String description, String cause, String action) {
+        this.executableNames = executableNames;
+        this.description = description;
+        this.cause = cause;
+        this.action = action;
+    }
+
+    /**
+     * Matches with or without the ".exe" suffix, ignoring case.
+     */
+    public boolean matches(String processName) {
+        String name = processName.toLowerCase(Locale.ROOT);
+        if (!name.endsWith(".exe")) {
+            name = name + ".exe";
+        }
+        return executableNames.contains(name);
+    }
+
+    public List<String> getExecutableNames() { return executableNames; }
+    public String getDescription() { return description; }
+    public String getCause() { return cause; }
+    public String getAction() { return action; }
+}
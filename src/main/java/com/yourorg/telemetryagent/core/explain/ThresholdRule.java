@@ -0,0 +1,45 @@
+package com.yourorg.telemetryagent.core.explain;
+
+import java.util.List;
+
+/**
+ * A known pattern for a system-wide metric crossing a threshold, with its usual causes and fixes.
+ */
+public class ThresholdRule {
+
+    /**
+     * The system-wide metrics a rule can watch, all expressed as percentages (0-100).
+     */
+    public enum Metric { CPU, MEMORY, DISK }
+
+    private final Metric metric;
+    private final double thresholdPercent;
+    private final String title;
+    private final String cause;
+    private final List<String> actions;
+    private final List<String> processActions;
+
+    public ThresholdRule(Metric metric, double thresholdPercent, String title, String cause, List<String> actions) {
+        this(metric, thresholdPercent, title, cause, List.of(), actions);
+    }
+
+    /**
+     * @param processActions Fixes that point at the listed processes; only suggested when a process list is available.
+     */
+    public ThresholdRule(Metric metric, double thresholdPercent, String title, String cause,
+                         List<String> processActions, List<String> actions) {
+        this.metric = metric;
+        this.thresholdPercent = thresholdPercent;
+        this.title = title;
+        this.cause = cause;
+        this.processActions = processActions;
+        this.actions = actions;
+    }
+
+    public Metric getMetric() { return metric; }
+    public double getThresholdPercent() { return thresholdPercent; }
+    public String getTitle() { return title; }
+    public String getCause() { return cause; }
+    public List<String> getProcessActions() { return processActions; }
+    public List<String> getActions() { return actions; }
+}
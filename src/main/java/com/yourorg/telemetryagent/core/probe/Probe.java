@@ -0,0 +1,134 @@
+package com.yourorg.telemetryagent.core.probe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * One independently timed measurement, such as CPU load or the process list.
+ * <p>
+ * Each tick the sampler calls {@link #start()} on every probe, so they run concurrently, and then
+ * {@link #await(long)} for each result. A probe that misses its deadline reports its last good
+ * value marked stale. Its slow call keeps running in the background, and no new call is started
+ * until it finishes, so a hung OS query never piles up threads.
+ * <p>
+ * {@code start} and {@code await} must only be called from the sampler thread. Because at most one
+ * call is in flight, the sampler function itself also never runs concurrently with itself.
+ */
+public class Probe<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(Probe.class);
+
+    private final String name;
+    private final Duration deadline;
+    private final Executor executor;
+    private final Supplier<T> sampler;
+
+    private volatile T lastValue;
+    private CompletableFuture<T> inFlight;
+    private boolean startedThisTick;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong skippedStarts = new AtomicLong();
+    private volatile long lastDurationNanos;
+
+    /**
+     * @param name         A label for logs and {@link #stats()}.
+     * @param deadline     How long after the tick starts a result may arrive and still count as fresh.
+     * @param initialValue Reported (as stale) until the first call succeeds.
+     * @param executor     Runs the calls; should have a thread available for every probe.
+     * @param sampler      The measurement itself.
+     */
+    public Probe(String name, Duration deadline, T initialValue, Executor executor, Supplier<T> sampler) {
+        this.name = name;
+        this.deadline = deadline;
+        this.lastValue = initialValue;
+        this.executor = executor;
+        this.sampler = sampler;
+    }
+
+    /**
+     * Starts this tick's call, unless the previous call is still running.
+     */
+    public void start() {
+        if (inFlight != null && !inFlight.isDone()) {
+            // A straggler from an earlier tick; don't start a second call behind it
+            startedThisTick = false;
+            skippedStarts.incrementAndGet();
+            return;
+        }
+        startedThisTick = true;
+        runs.incrementAndGet();
+        inFlight = CompletableFuture.supplyAsync(this::runSampler, executor);
+    }
+
+    /**
+     * Waits for this tick's call until {@code tickStartNanos} plus the probe's deadline.
+     * @param tickStartNanos The {@link System#nanoTime()} at which the tick started.
+     * @return The fresh value, or the last good value marked stale.
+     */
+    public ProbeResult<T> await(long tickStartNanos) {
+        if (!startedThisTick) {
+            return new ProbeResult<>(lastValue, true);
+        }
+        long remaining = tickStartNanos + deadline.toNanos() - System.nanoTime();
+        try {
+            T value = inFlight.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            return new ProbeResult<>(value, false);
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            logger.debug("Probe '{}' missed its {} ms deadline; reporting last value", name, deadline.toMillis());
+            return new ProbeResult<>(lastValue, true);
+        } catch (ExecutionException e) {
+            // Already counted and logged by runSampler
+            return new ProbeResult<>(lastValue, true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ProbeResult<>(lastValue, true);
+        }
+    }
+
+    /**
+     * @return Whether {@link #await(long)} would return without waiting, because this tick's call
+     *         has already finished or none was started.
+     */
+    public boolean isDone() {
+        return !startedThisTick || inFlight.isDone();
+    }
+
+    private T runSampler() {
+        long startNanos = System.nanoTime();
+        try {
+            T value = sampler.get();
+            // Stragglers also refresh the fallback, so a late value is still used on the next timeout
+            lastValue = value;
+            return value;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            logger.warn("Probe '{}' failed: {}", name, e.getMessage(), e);
+            throw e;
+        } finally {
+            lastDurationNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * @return Run, timeout and failure counters for this probe.
+     */
+    public ProbeStats stats() {
+        return new ProbeStats(name, deadline.toMillis(), runs.get(), timeouts.get(), failures.get(),
+                skippedStarts.get(), lastDurationNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,17 @@
+package com.yourorg.telemetryagent.core.probe;
+
+/**
+ * The value a probe produced for one tick, and whether it is fresh or a fallback to an earlier value.
+ */
+public class ProbeResult<T> {
+    private final T value;
+    private final boolean stale;   // True if this tick's call missed its deadline or failed
+
+    public ProbeResult(T value, boolean stale) {
+        this.value = value;
+        this.stale = stale;
+    }
+
+    public T getValue() { return value; }
+    public boolean isStale() { return stale; }
+}
@@ -0,0 +1,39 @@
+package com.yourorg.telemetryagent.core.probe;
+
+/**
+ * A point-in-time view of how reliably one probe meets its deadline.
+ */
+public class ProbeStats {
+    private final String name;
+    private final long deadlineMillis;
+    private final long runs;             // Calls actually started
+    private final long timeouts;         // Ticks where the probe missed its deadline
+    private final long failures;         // Calls that threw an exception
+    private final long skippedStarts;    // Ticks where a straggler was still running, so no new call was started
+    private final long lastDurationMillis;
+
+    public ProbeStats(String name, long deadlineMillis, long runs, long timeouts, long failures,
+                      long skippedStarts, long lastDurationMillis) {
+        this.name = name;
+        this.deadlineMillis = deadlineMillis;
+        this.runs = runs;
+        this.timeouts = timeouts;
+        this.failures = failures;
+        this.skippedStarts = skippedStarts;
+        this.lastDurationMillis = lastDurationMillis;
+    }
+
+    public String getName() { return name; }
+    public long getDeadlineMillis() { return deadlineMillis; }
+    public long getRuns() { return runs; }
+    public long getTimeouts() { return timeouts; }
+    public long getFailures() { return failures; }
+    public long getSkippedStarts() { return skippedStarts; }
+    public long getLastDurationMillis() { return lastDurationMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("%s [deadline %d ms]: runs=%d, timeouts=%d, failures=%d, skipped=%d, last=%d ms",
+                name, deadlineMillis, runs, timeouts, failures, skippedStarts, lastDurationMillis);
+    }
+}
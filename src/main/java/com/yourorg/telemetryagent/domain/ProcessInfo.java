@@ -1,29 +1,42 @@
 package com.yourorg.telemetryagent.domain;
 
-import javafx.beans.property.SimpleDoubleProperty;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleStringProperty;
-
 /**
- * A data class representing a single process, designed for use with a JavaFX TableView.
+ * A data class representing a single process at one point in time.
+ * All values are kept numeric; formatting happens only when a value is displayed.
  */
 public class ProcessInfo {
-    private final SimpleIntegerProperty pid;
-    private final SimpleStringProperty name;
-    private final SimpleDoubleProperty cpuPercent;
-    private final SimpleStringProperty memoryUsage;
+    private final int pid;
+    private final String name;
+    private final double cpuPercent;     // Share of total CPU capacity since the previous sample (0-100)
+    private final long residentBytes;    // Resident Set Size, the physical memory it's using
+    private final int threadCount;
+    private final long bytesRead;        // Cumulative bytes read by the process
+    private final long bytesWritten;     // Cumulative bytes written by the process
+    private final long ioBytesPerSecond; // Bytes read plus written per second since the previous sample
 
-    public ProcessInfo(int pid, String name, double cpuPercent, String memoryUsage) {
-        this.pid = new SimpleIntegerProperty(pid);
-        this.name = new SimpleStringProperty(name);
-        this.cpuPercent = new SimpleDoubleProperty(cpuPercent);
-        this.memoryUsage = new SimpleStringProperty(memoryUsage);
+    public ProcessInfo(int pid, String name, double cpuPercent, long residentBytes,
+                       int threadCount, long bytesRead, long bytesWritten, long ioBytesPerSecond) {
+        this.pid = pid;
+        this.name = name;
+        this.cpuPercent = cpuPercent;
+        this.residentBytes = residentBytes;
+        this.threadCount = threadCount;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.ioBytesPerSecond = ioBytesPerSecond;
     }
 
-    // --- Getters for JavaFX Property ---
-    // The TableView will use these methods to get the data for each cell.
-    public int getPid() { return pid.get(); }
-    public String getName() { return name.get(); }
-    public double getCpuPercent() { return cpuPercent.get(); }
-    public String getMemoryUsage() { return memoryUsage.get(); }
-}
\ No newline at end of file
+    public int getPid() { return pid; }
+    public String getName() { return name; }
+    public double getCpuPercent() { return cpuPercent; }
+    public long getResidentBytes() { return residentBytes; }
+    public int getThreadCount() { return threadCount; }
+    public long getBytesRead() { return bytesRead; }
+    public long getBytesWritten() { return bytesWritten; }
+
+    /**
+     * Current I/O rate, used by the I/O column. Measured between samples like the CPU usage,
+     * so a long-running process only ranks high while it is actually reading or writing.
+     */
+    public long getIoBytesPerSecond() { return ioBytesPerSecond; }
+}
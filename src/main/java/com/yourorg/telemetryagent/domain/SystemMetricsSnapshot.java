@@ -1,25 +1,59 @@
 package com.yourorg.telemetryagent.domain;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A container for all metrics collected at a single point in time.
+ * Snapshots are immutable and may be shared freely between threads.
  */
 public class SystemMetricsSnapshot {
+    private final long sequence;          // Increases by one for every sample taken
+    private final long timestampMillis;   // Wall-clock time the sample was taken
     private final CpuMetrics cpuMetrics;
     private final MemoryMetrics memoryMetrics;
     private final DiskMetrics diskMetrics;
+    private final List<ProcessInfo> processes;
     private final List<ProcessInfo> topProcesses;
+    private final Set<String> staleProbes;  // Probes that missed their deadline and reported an earlier value
 
-    public SystemMetricsSnapshot(CpuMetrics cpu, MemoryMetrics mem, DiskMetrics disk, List<ProcessInfo> topProcesses) {
+    /**
+     * @param processes    Every process; must not be modified after it is passed in.
+     * @param topProcesses The top CPU consumers; must not be modified after it is passed in.
+     * @param staleProbes  Names of probes whose values are carried over from an earlier sample.
+     */
+    public SystemMetricsSnapshot(long sequence, long timestampMillis, CpuMetrics cpu, MemoryMetrics mem, DiskMetrics disk,
+                                 List<ProcessInfo> processes, List<ProcessInfo> topProcesses, Set<String> staleProbes) {
+        this.sequence = sequence;
+        this.timestampMillis = timestampMillis;
         this.cpuMetrics = cpu;
         this.memoryMetrics = mem;
         this.diskMetrics = disk;
+        this.processes = processes;
         this.topProcesses = topProcesses;
+        this.staleProbes = staleProbes;
 
     }
 
+    public long getSequence() { return sequence; }
+    public long getTimestampMillis() { return timestampMillis; }
     public CpuMetrics getCpuMetrics() { return cpuMetrics; }
     public MemoryMetrics getMemoryMetrics() { return memoryMetrics; }
     public DiskMetrics getDiskMetrics() { return diskMetrics; }
+
+    /**
+     * @return Every process seen in this sample, in no particular order.
+     */
+    public List<ProcessInfo> getProcesses() { return processes; }
+
+    /**
+     * @return The processes using the most CPU, highest first.
+     */
     public List<ProcessInfo> getTopProcesses() { return topProcesses; }
-}
\ No newline at end of file
+
+    /**
+     * @return The names of probes that missed their deadline this tick; their values are from an earlier sample.
+     */
+    public Set<String> getStaleProbes() { return staleProbes; }
+
+    public boolean isStale(String probeName) { return staleProbes.contains(probeName); }
+}
@@ -0,0 +1,232 @@
+package com.yourorg.telemetryagent.ui.components;
+
+import com.yourorg.telemetryagent.domain.ProcessInfo;
+import com.yourorg.telemetryagent.util.Units;
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A reusable UI component that lists every running process with a live name filter.
+ * Rows are keyed by PID and updated in place, so only processes that actually changed
+ * are re-filtered and re-sorted on each refresh.
+ */
+public class ProcessExplorer extends VBox {
+
+    private final TextField filterField;
+    private final Label summaryLabel;
+    private final TableView<Row> table;
+
+    // The extractor turns a row's revision bump into a single list "update" event,
+    // which FilteredList and SortedList handle by repositioning just that row.
+    private final ObservableList<Row> rows = FXCollections.observableArrayList(row -> new Observable[]{row.revision});
+    private final FilteredList<Row> filteredRows = new FilteredList<>(rows);
+    private final Map<Integer, Row> rowsByPid = new HashMap<>();
+    private long generation = 0;
+    private List<ProcessInfo> lastProcesses;
+
+    public ProcessExplorer() {
+        setSpacing(8);
+
+        // Create the filter bar
+        this.filterField = new TextField();
+        this.filterField.setPromptText("Filter by process name...");
+        this.summaryLabel = new Label();
+        HBox filterBar = new HBox(10, filterField, summaryLabel);
+        filterBar.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(filterField, Priority.ALWAYS);
+
+        // Create the table. SortedList follows the table's sort order, and inserts
+        // or moves rows individually instead of re-sorting the whole list.
+        SortedList<Row> sortedRows = new SortedList<>(filteredRows);
+        this.table = new TableView<>(sortedRows);
+        sortedRows.comparatorProperty().bind(table.comparatorProperty());
+        table.setPlaceholder(new Label("Loading process data..."));
+
+        TableColumn<Row, Number> pidCol = new TableColumn<>("PID");
+        pidCol.setCellValueFactory(cd -> cd.getValue().pid);
+        TableColumn<Row, String> nameCol = new TableColumn<>("Name");
+        nameCol.setCellValueFactory(cd -> cd.getValue().name);
+        nameCol.setPrefWidth(250);
+        TableColumn<Row, Number> cpuCol = new TableColumn<>("CPU %");
+        cpuCol.setCellValueFactory(cd -> cd.getValue().cpuPercent);
+        cpuCol.setCellFactory(column -> new FormattedCell(value -> Units.formatPercent(value.doubleValue())));
+        cpuCol.setSortType(TableColumn.SortType.DESCENDING);
+        TableColumn<Row, Number> memCol = new TableColumn<>("Memory");
+        memCol.setCellValueFactory(cd -> cd.getValue().residentBytes);
+        memCol.setCellFactory(column -> new FormattedCell(value -> Units.formatBytes(value.longValue())));
+        TableColumn<Row, Number> threadsCol = new TableColumn<>("Threads");
+        threadsCol.setCellValueFactory(cd -> cd.getValue().threadCount);
+        TableColumn<Row, Number> ioCol = new TableColumn<>("I/O");
+        ioCol.setCellValueFactory(cd -> cd.getValue().ioBytesPerSecond);
+        ioCol.setCellFactory(column -> new FormattedCell(value -> Units.formatBytesPerSecond(value.longValue())));
+        ioCol.setSortType(TableColumn.SortType.DESCENDING);
+        table.getColumns().addAll(pidCol, nameCol, cpuCol, memCol, threadsCol, ioCol);
+        table.getSortOrder().add(cpuCol);
+
+        filterField.textProperty().addListener((obs, oldText, newText) -> applyFilter(newText));
+
+        VBox.setVgrow(table, Priority.ALWAYS);
+        getChildren().addAll(filterBar, table);
+        updateSummary();
+    }
+
+    /**
+     * Applies a new process list as a keyed diff against the rows already shown.
+     * Must be called on the JavaFX Application Thread.
+     * @param processes Every process from the latest snapshot.
+     */
+    public void update(List<ProcessInfo> processes) {
+        if (processes == lastProcesses) {
+            // The sampler reused the previous process list, so there is nothing to diff
+            return;
+        }
+        lastProcesses = processes;
+        generation++;
+
+        // Update surviving rows in place and collect the new ones
+        List<Row> added = new ArrayList<>();
+        for (ProcessInfo process : processes) {
+            Row row = rowsByPid.get(process.getPid());
+            if (row == null) {
+                row = new Row(process);
+                rowsByPid.put(process.getPid(), row);
+                added.add(row);
+            } else {
+                row.update(process);
+            }
+            row.generation = generation;
+        }
+
+        // Anything not seen in this generation has exited
+        Set<Row> removed = new HashSet<>();
+        rowsByPid.values().removeIf(row -> {
+            if (row.generation != generation) {
+                removed.add(row);
+                return true;
+            }
+            return false;
+        });
+
+        // One change event each for all removals and all insertions
+        if (!removed.isEmpty()) {
+            rows.removeAll(removed);
+        }
+        if (!added.isEmpty()) {
+            rows.addAll(added);
+        }
+        updateSummary();
+    }
+
+    private void applyFilter(String text) {
+        String needle = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        filteredRows.setPredicate(needle.isEmpty() ? null : row -> row.lowerCaseName.contains(needle));
+        updateSummary();
+    }
+
+    private void updateSummary() {
+        summaryLabel.setText(String.format("%d of %d processes", filteredRows.size(), rows.size()));
+    }
+
+    /**
+     * A table cell that keeps the raw number and only formats it when the cell is painted.
+     */
+    private static class FormattedCell extends TableCell<Row, Number> {
+        private final Function<Number, String> formatter;
+
+        FormattedCell(Function<Number, String> formatter) {
+            this.formatter = formatter;
+        }
+
+        @Override
+        protected void updateItem(Number item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setText(null);
+            } else {
+                setText(formatter.apply(item));
+            }
+        }
+    }
+
+    /**
+     * The live, mutable view of one process. Each row is created once per PID and then updated in place.
+     */
+    private static class Row {
+        private final SimpleIntegerProperty pid;
+        private final SimpleStringProperty name;
+        private final SimpleDoubleProperty cpuPercent;
+        private final SimpleLongProperty residentBytes;
+        private final SimpleIntegerProperty threadCount;
+        private final SimpleLongProperty ioBytesPerSecond;
+        private final SimpleLongProperty revision = new SimpleLongProperty();
+        private String lowerCaseName;
+        private long generation;
+
+        Row(ProcessInfo process) {
+            this.pid = new SimpleIntegerProperty(process.getPid());
+            this.name = new SimpleStringProperty(process.getName());
+            this.cpuPercent = new SimpleDoubleProperty(process.getCpuPercent());
+            this.residentBytes = new SimpleLongProperty(process.getResidentBytes());
+            this.threadCount = new SimpleIntegerProperty(process.getThreadCount());
+            this.ioBytesPerSecond = new SimpleLongProperty(process.getIoBytesPerSecond());
+            this.lowerCaseName = process.getName().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Copies new values into the row and bumps the revision once if anything changed.
+         */
+        void update(ProcessInfo process) {
+            boolean changed = false;
+            if (!name.get().equals(process.getName())) {
+                // The PID was reused by a different program
+                name.set(process.getName());
+                lowerCaseName = process.getName().toLowerCase(Locale.ROOT);
+                changed = true;
+            }
+            if (cpuPercent.get() != process.getCpuPercent()) {
+                cpuPercent.set(process.getCpuPercent());
+                changed = true;
+            }
+            if (residentBytes.get() != process.getResidentBytes()) {
+                residentBytes.set(process.getResidentBytes());
+                changed = true;
+            }
+            if (threadCount.get() != process.getThreadCount()) {
+                threadCount.set(process.getThreadCount());
+                changed = true;
+            }
+            if (ioBytesPerSecond.get() != process.getIoBytesPerSecond()) {
+                ioBytesPerSecond.set(process.getIoBytesPerSecond());
+                changed = true;
+            }
+            if (changed) {
+                revision.set(revision.get() + 1);
+            }
+        }
+    }
+}
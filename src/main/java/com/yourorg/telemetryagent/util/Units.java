@@ -0,0 +1,105 @@
+package com.yourorg.telemetryagent.util;
+
+/**
+ * The one place byte counts and percentages are turned into display strings.
+ * <p>
+ * Output is cached: the same rounded value always returns the same String instance, so
+ * repainting unchanged cards, cells or reports does not allocate. All methods are thread-safe.
+ */
+public final class Units {
+
+    private static final String UNIT_PREFIXES = "KMGTPE";
+
+    // Direct-mapped cache for byte strings. Entries are immutable, so a racy read sees either
+    // a complete old entry or a complete new one, never a mix.
+    private static final int BYTES_CACHE_SIZE = 4096;
+    private static final Entry[] bytesCache = new Entry[BYTES_CACHE_SIZE];
+    private static final Entry[] bytesPerSecondCache = new Entry[BYTES_CACHE_SIZE];
+
+    // Percentages from 0.0% to 100.0% in tenths, filled lazily
+    private static final String[] percentCache = new String[1001];
+
+    private Units() {
+    }
+
+    /**
+     * Formats a byte count with one decimal and a binary unit, e.g. "1.5 GB" or "512 B".
+     */
+    public static String formatBytes(long bytes) {
+        return formatBytes(bytes, bytesCache, "B");
+    }
+
+    /**
+     * Formats a transfer rate like {@link #formatBytes}, e.g. "1.5 MB/s".
+     */
+    public static String formatBytesPerSecond(long bytesPerSecond) {
+        return formatBytes(bytesPerSecond, bytesPerSecondCache, "B/s");
+    }
+
+    private static String formatBytes(long bytes, Entry[] cache, String unit) {
+        int exp = 0;
+        long tenths = bytes;
+        if (bytes >= 1024) {
+            // floor(log1024(bytes)) without Math.log
+            exp = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+            tenths = Math.round((double) bytes / (1L << (10 * exp)) * 10);
+        }
+
+        long key = tenths * 8 + exp;
+        int slot = (int) ((key ^ (key >>> 32)) * 0x9E3779B1L >>> 20) & (BYTES_CACHE_SIZE - 1);
+        Entry entry = cache[slot];
+        if (entry != null && entry.key == key) {
+            return entry.text;
+        }
+
+        String text;
+        if (exp == 0) {
+            text = bytes + " " + unit;
+        } else {
+            text = new StringBuilder(12)
+                    .append(tenths / 10).append('.').append(tenths % 10)
+                    .append(' ').append(UNIT_PREFIXES.charAt(exp - 1)).append(unit)
+                    .toString();
+        }
+        cache[slot] = new Entry(key, text);
+        return text;
+    }
+
+    /**
+     * Formats a percentage with one decimal, e.g. "42.5%".
+     */
+    public static String formatPercent(double percent) {
+        long tenths = Math.round(percent * 10);
+        if (tenths >= 0 && tenths < percentCache.length) {
+            String cached = percentCache[(int) tenths];
+            if (cached == null) {
+                cached = tenthsToString(tenths) + "%";
+                percentCache[(int) tenths] = cached;
+            }
+            return cached;
+        }
+        return tenthsToString(tenths) + "%";
+    }
+
+    /**
+     * Formats "used / total" byte counts, e.g. "7.9 GB / 15.9 GB".
+     */
+    public static String formatBytesOfTotal(long used, long total) {
+        return formatBytes(used) + " / " + formatBytes(total);
+    }
+
+    private static String tenthsToString(long tenths) {
+        long abs = Math.abs(tenths);
+        return (tenths < 0 ? "-" : "") + (abs / 10) + "." + (abs % 10);
+    }
+
+    private static final class Entry {
+        private final long key;
+        private final String text;
+
+        Entry(long key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.yourorg.telemetryagent.core;
+
+import com.yourorg.telemetryagent.domain.CpuMetrics;
+import com.yourorg.telemetryagent.domain.DiskMetrics;
+import com.yourorg.telemetryagent.domain.MemoryMetrics;
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatestSnapshotsConcurrencyTest {
+
+    private static final int READERS = 4;
+    private static final long SNAPSHOTS = 200_000;
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    @Test
+    void readersAlwaysSeeConsecutiveNonDecreasingPairs() throws InterruptedException {
+        TelemetryService service = new TelemetryService();
+        CpuMetrics cpu = new CpuMetrics(0);
+        MemoryMetrics memory = new MemoryMetrics(0, 0);
+        DiskMetrics disk = new DiskMetrics("C:", 0, 0);
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writerDone = new AtomicBoolean();
+        AtomicLong pairsChecked = new AtomicLong();
+        Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            Thread reader = new Thread(() -> {
+                awaitQuietly(start);
+                long lastSequence = 0;
+                boolean finalPass = false;
+                while (!finalPass) {
+                    // Read once more after the writer finishes, so the last pair is checked too
+                    finalPass = writerDone.get();
+                    LatestSnapshots pair = service.getLatestSnapshots();
+                    SystemMetricsSnapshot latest = pair.getLatest();
+                    if (latest == null) {
+                        continue;
+                    }
+                    SystemMetricsSnapshot previous = pair.getPrevious();
+                    long expectedPrevious = latest.getSequence() - 1;
+                    if (previous == null ? expectedPrevious != 0 : previous.getSequence() != expectedPrevious) {
+                        report(failures, "latest " + latest.getSequence() + " paired with previous "
+                                + (previous == null ? "null" : previous.getSequence()));
+                    }
+                    if (latest.getSequence() < lastSequence) {
+                        report(failures, "sequence went back from " + lastSequence + " to " + latest.getSequence());
+                    }
+                    lastSequence = latest.getSequence();
+                    pairsChecked.incrementAndGet();
+                }
+                if (lastSequence != SNAPSHOTS) {
+                    report(failures, "reader finished at " + lastSequence + " instead of " + SNAPSHOTS);
+                }
+            }, "latest-snapshots-reader-" + r);
+            reader.start();
+            readers.add(reader);
+        }
+
+        start.countDown();
+        for (long sequence = 1; sequence <= SNAPSHOTS; sequence++) {
+            service.publishLatest(new SystemMetricsSnapshot(sequence, sequence, cpu, memory, disk,
+                    List.of(), List.of(), Set.of()));
+        }
+        writerDone.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(List.of(), new ArrayList<>(failures));
+        assertTrue(pairsChecked.get() >= READERS, "readers checked only " + pairsChecked.get() + " pairs");
+        assertEquals(SNAPSHOTS, service.getLatestSnapshot().getSequence());
+        assertEquals(SNAPSHOTS - 1, service.getPreviousSnapshot().getSequence());
+    }
+
+    private static void report(Queue<String> failures, String failure) {
+        if (failures.size() < MAX_REPORTED_FAILURES) {
+            failures.add(failure);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
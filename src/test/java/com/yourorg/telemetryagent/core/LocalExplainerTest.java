@@ -0,0 +1,80 @@
+package com.yourorg.telemetryagent.core;
+
+import com.yourorg.telemetryagent.core.analytics.MetricWindow;
+import com.yourorg.telemetryagent.core.explain.Explanation;
+import com.yourorg.telemetryagent.domain.CpuMetrics;
+import com.yourorg.telemetryagent.domain.DiskMetrics;
+import com.yourorg.telemetryagent.domain.MemoryMetrics;
+import com.yourorg.telemetryagent.domain.ProcessInfo;
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalExplainerTest {
+
+    private static final long GB = 1024L * 1024 * 1024;
+
+    private final LocalExplainer explainer = new LocalExplainer();
+
+    @Test
+    void unexplainedCpuSaturationAsksForTheLlm() {
+        SystemMetricsSnapshot snapshot = snapshot(95, new ProcessInfo(4242, "myminer.exe", 85, GB, 8, 0, 0, 0));
+        Explanation explanation = explainer.explain(snapshot, history(snapshot, 5));
+
+        assertTrue(explanation.getConfidence() < LocalExplainer.LOW_CONFIDENCE_THRESHOLD,
+                "confidence " + explanation.getConfidence());
+        assertTrue(explanation.getMarkdown().contains("myminer.exe"), explanation.getMarkdown());
+    }
+
+    @Test
+    void knownProcessExplainsCpuSaturation() {
+        SystemMetricsSnapshot snapshot = snapshot(95, new ProcessInfo(4242, "chrome.exe", 85, GB, 40, 0, 0, 0));
+        Explanation explanation = explainer.explain(snapshot, history(snapshot, 5));
+
+        assertTrue(explanation.getConfidence() >= LocalExplainer.LOW_CONFIDENCE_THRESHOLD,
+                "confidence " + explanation.getConfidence());
+    }
+
+    @Test
+    void cpuSaturationWithoutProcessListAsksForTheLlm() {
+        SystemMetricsSnapshot snapshot = snapshot(95, List.of());
+        Explanation explanation = explainer.explain(snapshot, history(snapshot, 5));
+
+        assertTrue(explanation.getConfidence() < LocalExplainer.LOW_CONFIDENCE_THRESHOLD,
+                "confidence " + explanation.getConfidence());
+        assertFalse(explanation.getMarkdown().contains("busiest process below"), explanation.getMarkdown());
+    }
+
+    @Test
+    void healthySystemNeedsNoLlm() {
+        SystemMetricsSnapshot snapshot = snapshot(12, new ProcessInfo(4242, "myminer.exe", 5, GB, 8, 0, 0, 0));
+        Explanation explanation = explainer.explain(snapshot, history(snapshot, 5));
+
+        assertTrue(explanation.getConfidence() >= LocalExplainer.LOW_CONFIDENCE_THRESHOLD,
+                "confidence " + explanation.getConfidence());
+        assertTrue(explanation.getMarkdown().startsWith("## System Looks Healthy"), explanation.getMarkdown());
+    }
+
+    private static SystemMetricsSnapshot snapshot(double cpuLoad, ProcessInfo busiest) {
+        return snapshot(cpuLoad, List.of(busiest));
+    }
+
+    private static SystemMetricsSnapshot snapshot(double cpuLoad, List<ProcessInfo> processes) {
+        return new SystemMetricsSnapshot(1, System.currentTimeMillis(), new CpuMetrics(cpuLoad),
+                new MemoryMetrics(4 * GB, 16 * GB), new DiskMetrics("C:", 100 * GB, 500 * GB),
+                processes, processes, Set.of());
+    }
+
+    private static MetricWindow history(SystemMetricsSnapshot snapshot, int samples) {
+        MetricWindow window = new MetricWindow(30);
+        for (int i = 0; i < samples; i++) {
+            window.append(snapshot);
+        }
+        return window;
+    }
+}
@@ -0,0 +1,96 @@
+package com.yourorg.telemetryagent.core;
+
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import org.junit.jupiter.api.Test;
+import oshi.SystemInfo;
+import oshi.software.os.OSProcess;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fails the build when a sampling tick that skips the process enumeration allocates more than
+ * {@link TelemetryService#TICK_ALLOCATION_BUDGET_BYTES}, or when turning an enumeration into
+ * ProcessInfo rows costs more than a small per-process allowance.
+ */
+class TelemetryServiceAllocationTest {
+
+    // Class loading, OSHI's lazy caches and the JIT all allocate heavily on the first ticks
+    private static final int WARMUP_TICKS = 20;
+    private static final int MEASURED_TICKS = 50;
+
+    // Steady state is two map entries, one boxed PID and one list slot per process (84 bytes at most);
+    // allocating fresh maps or fresh ProcessInfo rows on every call pushes it well past this
+    private static final long PROCESS_ALLOWANCE_BYTES = 88;
+    private static final long PROCESS_LIST_ALLOWANCE_BYTES = 256;
+    private static final int PROCESS_WARMUP_CALLS = 2000;
+    private static final int PROCESS_MEASURED_CALLS = 50;
+
+    @Test
+    void lightTicksStayWithinAllocationBudget() {
+        TelemetryService service = new TelemetryService();
+        AllocationMeter meter = service.getAllocationMeter();
+        assumeTrue(meter.isSupported(), "this JVM cannot report allocated bytes");
+        service.setSamplingMode(SamplingMode.LOW_ALLOCATION);
+
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            service.sampleTick();
+        }
+
+        List<String> overBudget = new ArrayList<>();
+        int budgetedTicks = 0;
+        boolean enumerationStillRunning = false;
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            SystemMetricsSnapshot snapshot = service.sampleTick();
+            if (!meter.isLastTickBudgeted()) {
+                // An enumeration that missed its deadline keeps allocating during the following light ticks
+                enumerationStillRunning = snapshot.isStale(TelemetryService.PROBE_PROCESSES);
+                continue;
+            }
+            if (enumerationStillRunning) {
+                continue;
+            }
+            budgetedTicks++;
+            if (meter.getLastTickBytes() > TelemetryService.TICK_ALLOCATION_BUDGET_BYTES) {
+                overBudget.add("tick " + snapshot.getSequence() + ": " + meter.getLastTickBytes() + " bytes");
+            }
+        }
+
+        assertTrue(budgetedTicks > 0, "no light ticks were measured");
+        assertEquals(List.of(), overBudget,
+                "ticks over the " + TelemetryService.TICK_ALLOCATION_BUDGET_BYTES + " byte budget");
+    }
+
+    @Test
+    void unchangedProcessesAllocateOnlyTheirListAndMapEntries() {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "this JVM cannot report allocated bytes");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        // A fixed list, so every call sees the same processes with the same values; OSHI's own
+        // enumeration cost is deliberately left out
+        TelemetryService service = new TelemetryService();
+        List<OSProcess> processes = new SystemInfo().getOperatingSystem().getProcesses();
+        assumeTrue(!processes.isEmpty(), "no processes to enumerate");
+        for (int i = 0; i < PROCESS_WARMUP_CALLS; i++) {
+            service.toProcessInfos(processes);
+        }
+
+        long allowance = PROCESS_LIST_ALLOWANCE_BYTES + PROCESS_ALLOWANCE_BYTES * processes.size();
+        long worst = 0;
+        for (int i = 0; i < PROCESS_MEASURED_CALLS; i++) {
+            // Measured on this (platform) thread, so nothing else running in the JVM is counted
+            long start = threadBean.getCurrentThreadAllocatedBytes();
+            service.toProcessInfos(processes);
+            worst = Math.max(worst, threadBean.getCurrentThreadAllocatedBytes() - start);
+        }
+
+        assertTrue(worst <= allowance, "converting " + processes.size() + " unchanged processes allocated "
+                + worst + " bytes, over the " + allowance + " byte allowance");
+    }
+}
@@ -0,0 +1,188 @@
+package com.yourorg.telemetryagent.core.analytics;
+
+import com.yourorg.telemetryagent.domain.CpuMetrics;
+import com.yourorg.telemetryagent.domain.DiskMetrics;
+import com.yourorg.telemetryagent.domain.MemoryMetrics;
+import com.yourorg.telemetryagent.domain.ProcessInfo;
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times the history queries the explainer runs, over an hour of 1 s samples, on a {@link MetricWindow}
+ * with {@link ColumnOps} and on a plain {@code List<SystemMetricsSnapshot>} walked through getters.
+ * <p>
+ * This is a coarse JUnit-hosted comparison, not a JMH benchmark: it checks both paths give the same
+ * answers, warms them up, reports the best of several runs, and only asserts that the columnar path
+ * stays in the microsecond range.
+ */
+class MetricWindowBenchmarkTest {
+
+    private static final int SAMPLES = 3600;
+    private static final int PROCESSES_PER_SAMPLE = 200;
+    private static final String TRACKED_PROCESS = "worker.exe";
+    private static final double CPU_THRESHOLD = 80;
+    private static final int MOVING_AVERAGE_PERIOD = 30;
+
+    private static final int WARMUP_RUNS = 2_000;
+    private static final int TIMED_RUNS = 200;
+    // The object-graph correlation takes milliseconds per run, so a few runs are enough to see it
+    // and the full counts would keep this test busy for tens of seconds
+    private static final int SLOW_WARMUP_RUNS = 20;
+    private static final int SLOW_TIMED_RUNS = 10;
+    // Generous enough for a slow CI machine; a regression to object walking would still fail it
+    private static final long MAX_COLUMNAR_MICROS = 1_000;
+
+    private static final long GB = 1024L * 1024 * 1024;
+
+    private final double[] movingAverageBuffer = new double[SAMPLES];
+    private volatile double sink;
+
+    @Test
+    void columnarQueriesMatchObjectGraphAndRunInMicroseconds() {
+        List<SystemMetricsSnapshot> snapshots = generateSnapshots(SAMPLES + 500);
+        // The window wraps, so its views span both halves of the ring
+        MetricWindow window = new MetricWindow(SAMPLES);
+        window.trackProcess(TRACKED_PROCESS);
+        for (SystemMetricsSnapshot snapshot : snapshots) {
+            window.append(snapshot);
+        }
+        List<SystemMetricsSnapshot> history = new ArrayList<>(snapshots.subList(snapshots.size() - SAMPLES, snapshots.size()));
+
+        double[] columnar = columnarSystemQueries(window);
+        double[] objects = objectGraphSystemQueries(history);
+        for (int i = 0; i < columnar.length; i++) {
+            assertEquals(objects[i], columnar[i], 1e-9, "system query " + i);
+        }
+        assertEquals(objectGraphCorrelation(history), columnarCorrelation(window), 1e-9, "correlation");
+
+        long columnarSystemNanos = bestOf(() -> sink = columnarSystemQueries(window)[0], WARMUP_RUNS, TIMED_RUNS);
+        long objectSystemNanos = bestOf(() -> sink = objectGraphSystemQueries(history)[0], WARMUP_RUNS, TIMED_RUNS);
+        long columnarCorrelationNanos = bestOf(() -> sink = columnarCorrelation(window), WARMUP_RUNS, TIMED_RUNS);
+        long objectCorrelationNanos = bestOf(() -> sink = objectGraphCorrelation(history), SLOW_WARMUP_RUNS, SLOW_TIMED_RUNS);
+
+        report("mean/max/count/moving average", columnarSystemNanos, objectSystemNanos);
+        report("CPU vs process correlation", columnarCorrelationNanos, objectCorrelationNanos);
+        long columnarMicros = (columnarSystemNanos + columnarCorrelationNanos) / 1_000;
+        assertTrue(columnarMicros <= MAX_COLUMNAR_MICROS, "columnar queries took " + columnarMicros + " us");
+    }
+
+    /**
+     * Mean CPU, peak memory, samples at or above the CPU threshold, and the last moving-average value.
+     */
+    private double[] columnarSystemQueries(MetricWindow window) {
+        ColumnView cpu = window.cpu();
+        double[] movingAverage = ColumnOps.movingAverage(cpu, MOVING_AVERAGE_PERIOD, movingAverageBuffer);
+        return new double[]{
+                ColumnOps.mean(cpu),
+                ColumnOps.max(window.memory()),
+                ColumnOps.countAtLeast(cpu, CPU_THRESHOLD),
+                movingAverage[cpu.size() - 1]
+        };
+    }
+
+    private double columnarCorrelation(MetricWindow window) {
+        return ColumnOps.correlation(window.cpu(), window.processCpu(TRACKED_PROCESS));
+    }
+
+    private double[] objectGraphSystemQueries(List<SystemMetricsSnapshot> history) {
+        int n = history.size();
+        double cpuSum = 0;
+        double memoryMax = Double.NEGATIVE_INFINITY;
+        int highCpu = 0;
+        for (SystemMetricsSnapshot snapshot : history) {
+            double cpu = snapshot.getCpuMetrics().getCpuLoad();
+            cpuSum += cpu;
+            long total = snapshot.getMemoryMetrics().getTotalBytes();
+            memoryMax = Math.max(memoryMax, total == 0 ? 0 : (double) snapshot.getMemoryMetrics().getUsedBytes() / total * 100.0);
+            if (cpu >= CPU_THRESHOLD) {
+                highCpu++;
+            }
+        }
+        // The same full trailing series ColumnOps.movingAverage produces
+        double movingSum = 0;
+        for (int i = 0; i < n; i++) {
+            movingSum += history.get(i).getCpuMetrics().getCpuLoad();
+            if (i >= MOVING_AVERAGE_PERIOD) {
+                movingSum -= history.get(i - MOVING_AVERAGE_PERIOD).getCpuMetrics().getCpuLoad();
+            }
+            movingAverageBuffer[i] = movingSum / Math.min(i + 1, MOVING_AVERAGE_PERIOD);
+        }
+        return new double[]{cpuSum / n, memoryMax, highCpu, movingAverageBuffer[n - 1]};
+    }
+
+    private double objectGraphCorrelation(List<SystemMetricsSnapshot> history) {
+        int n = history.size();
+        // Without a column, the tracked process has to be found in every snapshot's process list
+        double[] processCpu = new double[n];
+        double cpuMean = 0;
+        double processMean = 0;
+        for (int i = 0; i < n; i++) {
+            SystemMetricsSnapshot snapshot = history.get(i);
+            for (ProcessInfo process : snapshot.getProcesses()) {
+                if (process.getName().equalsIgnoreCase(TRACKED_PROCESS)) {
+                    processCpu[i] += process.getCpuPercent();
+                }
+            }
+            cpuMean += snapshot.getCpuMetrics().getCpuLoad();
+            processMean += processCpu[i];
+        }
+        cpuMean /= n;
+        processMean /= n;
+        double covariance = 0;
+        double cpuVariance = 0;
+        double processVariance = 0;
+        for (int i = 0; i < n; i++) {
+            double dx = history.get(i).getCpuMetrics().getCpuLoad() - cpuMean;
+            double dy = processCpu[i] - processMean;
+            covariance += dx * dy;
+            cpuVariance += dx * dx;
+            processVariance += dy * dy;
+        }
+        return covariance / Math.sqrt(cpuVariance * processVariance);
+    }
+
+    private static void report(String queries, long columnarNanos, long objectNanos) {
+        System.out.printf("%d samples, %s: columnar %.1f us, object graph %.1f us (%.1fx)%n", SAMPLES, queries,
+                columnarNanos / 1_000.0, objectNanos / 1_000.0, (double) objectNanos / columnarNanos);
+    }
+
+    private long bestOf(Runnable queries, int warmupRuns, int timedRuns) {
+        for (int i = 0; i < warmupRuns; i++) {
+            queries.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < timedRuns; i++) {
+            long start = System.nanoTime();
+            queries.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static List<SystemMetricsSnapshot> generateSnapshots(int count) {
+        Random random = new Random(42);
+        List<SystemMetricsSnapshot> snapshots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double workerCpu = random.nextDouble() * 60;
+            List<ProcessInfo> processes = new ArrayList<>(PROCESSES_PER_SAMPLE);
+            processes.add(new ProcessInfo(1000, TRACKED_PROCESS, workerCpu, GB, 16, 0, 0, 0));
+            for (int p = 1; p < PROCESSES_PER_SAMPLE; p++) {
+                processes.add(new ProcessInfo(1000 + p, "process" + p + ".exe", random.nextDouble(), 50_000_000, 4, 0, 0, 0));
+            }
+            double cpu = Math.min(100, workerCpu + random.nextDouble() * 40);
+            long memoryUsed = (long) ((0.4 + random.nextDouble() * 0.5) * 16 * GB);
+            snapshots.add(new SystemMetricsSnapshot(i + 1, i * 1000L, new CpuMetrics(cpu),
+                    new MemoryMetrics(memoryUsed, 16 * GB), new DiskMetrics("C:", 100 * GB, 500 * GB),
+                    processes, processes.subList(0, 10), Set.of()));
+        }
+        return snapshots;
+    }
+}
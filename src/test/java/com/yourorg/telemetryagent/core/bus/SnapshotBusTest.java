@@ -0,0 +1,88 @@
+package com.yourorg.telemetryagent.core.bus;
+
+import com.yourorg.telemetryagent.domain.CpuMetrics;
+import com.yourorg.telemetryagent.domain.DiskMetrics;
+import com.yourorg.telemetryagent.domain.MemoryMetrics;
+import com.yourorg.telemetryagent.domain.SystemMetricsSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotBusTest {
+
+    private static final int PUBLISHED = 10;
+
+    @Test
+    void stalledBlockSubscriberDoesNotDelayOtherSubscribers() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastReceivedAll = new CountDownLatch(PUBLISHED);
+        List<Long> fastSequences = new CopyOnWriteArrayList<>();
+
+        try (SnapshotBus bus = new SnapshotBus()) {
+            bus.subscribe("stalled", 1, OverflowPolicy.BLOCK, snapshot -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            bus.subscribe("fast", 16, OverflowPolicy.DROP_OLDEST, snapshot -> {
+                fastSequences.add(snapshot.getSequence());
+                fastReceivedAll.countDown();
+            });
+
+            for (int i = 1; i <= PUBLISHED; i++) {
+                bus.publish(snapshot(i));
+            }
+
+            assertTrue(fastReceivedAll.await(5, TimeUnit.SECONDS), "fast subscriber got " + fastSequences);
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), fastSequences);
+
+            for (SubscriberStats stats : bus.getSubscriberStats()) {
+                // Every snapshot is either delivered, still waiting, or counted as dropped by its own subscriber
+                assertEquals(PUBLISHED, stats.getReceived(), stats.toString());
+                assertEquals(stats.getReceived(), stats.getDelivered() + stats.getLag() + stats.getDropped(), stats.toString());
+                if (stats.getName().equals("fast")) {
+                    assertEquals(0, stats.getDropped(), stats.toString());
+                } else {
+                    assertTrue(stats.getDropped() > 0, stats.toString());
+                }
+            }
+            release.countDown();
+        }
+    }
+
+    @Test
+    void blockSubscriberReceivesEverySnapshotWhenItKeepsUp() throws InterruptedException {
+        CountDownLatch receivedAll = new CountDownLatch(PUBLISHED);
+        List<Long> sequences = new CopyOnWriteArrayList<>();
+
+        try (SnapshotBus bus = new SnapshotBus()) {
+            bus.subscribe("writer", 4, OverflowPolicy.BLOCK, snapshot -> {
+                sequences.add(snapshot.getSequence());
+                receivedAll.countDown();
+            });
+
+            for (int i = 1; i <= PUBLISHED; i++) {
+                bus.publish(snapshot(i));
+                Thread.sleep(5);
+            }
+
+            assertTrue(receivedAll.await(5, TimeUnit.SECONDS), "writer got " + sequences);
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), sequences);
+            assertEquals(0, bus.getSubscriberStats().get(0).getDropped());
+        }
+    }
+
+    private static SystemMetricsSnapshot snapshot(long sequence) {
+        return new SystemMetricsSnapshot(sequence, System.currentTimeMillis(), new CpuMetrics(0),
+                new MemoryMetrics(0, 0), new DiskMetrics("C:", 0, 0), List.of(), List.of(), Set.of());
+    }
+}
@@ -0,0 +1,128 @@
+package com.yourorg.telemetryagent.core.probe;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProbeTest {
+
+    private static final Duration DEADLINE = Duration.ofMillis(50);
+
+    // Interrupting on shutdown releases any sampler still parked on a latch
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void resultPastDeadlineReturnsLastValueMarkedStale() {
+        CountDownLatch release = new CountDownLatch(1);
+        Probe<String> probe = new Probe<>("slow", DEADLINE, "initial", executor, () -> {
+            awaitQuietly(release);
+            return "fresh";
+        });
+
+        ProbeResult<String> result = tick(probe);
+
+        assertEquals("initial", result.getValue());
+        assertTrue(result.isStale());
+        assertEquals(1, probe.stats().getTimeouts(), probe.stats().toString());
+    }
+
+    @Test
+    void stragglerPreventsASecondCall() {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Probe<String> probe = new Probe<>("hung", DEADLINE, "initial", executor, () -> {
+            calls.incrementAndGet();
+            awaitQuietly(release);
+            return "fresh";
+        });
+
+        tick(probe);
+        ProbeResult<String> second = tick(probe);
+
+        assertEquals("initial", second.getValue());
+        assertTrue(second.isStale());
+        assertEquals(1, calls.get());
+        ProbeStats stats = probe.stats();
+        assertEquals(1, stats.getRuns(), stats.toString());
+        assertEquals(1, stats.getSkippedStarts(), stats.toString());
+    }
+
+    @Test
+    void failureReturnsLastValueMarkedStale() {
+        AtomicInteger calls = new AtomicInteger();
+        Probe<String> probe = new Probe<>("flaky", DEADLINE, "initial", executor, () -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("sensor unavailable");
+            }
+            return "first";
+        });
+
+        ProbeResult<String> first = tick(probe);
+        ProbeResult<String> second = tick(probe);
+
+        assertEquals("first", first.getValue());
+        assertFalse(first.isStale());
+        assertEquals("first", second.getValue());
+        assertTrue(second.isStale());
+        assertEquals(1, probe.stats().getFailures(), probe.stats().toString());
+    }
+
+    @Test
+    void lateResultRefreshesFallback() throws InterruptedException {
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch releaseSecond = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Probe<String> probe = new Probe<>("late", DEADLINE, "initial", executor, () -> {
+            if (calls.incrementAndGet() == 1) {
+                awaitQuietly(releaseFirst);
+                return "late";
+            }
+            awaitQuietly(releaseSecond);
+            return "later";
+        });
+
+        assertEquals("initial", tick(probe).getValue());
+        releaseFirst.countDown();
+        long giveUp = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!probe.isDone() && System.nanoTime() < giveUp) {
+            Thread.sleep(5);
+        }
+        assertTrue(probe.isDone(), "the straggler never finished");
+
+        // The next call misses its deadline too, but the straggler's value is now the fallback
+        ProbeResult<String> next = tick(probe);
+
+        assertEquals("late", next.getValue());
+        assertTrue(next.isStale());
+        assertEquals(2, probe.stats().getRuns(), probe.stats().toString());
+    }
+
+    private static <T> ProbeResult<T> tick(Probe<T> probe) {
+        long tickStart = System.nanoTime();
+        probe.start();
+        return probe.await(tickStart);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}